@@ -0,0 +1,482 @@
+import java.util.*;
+import java.util.function.*;
+
+/*
+ * Program name: AlphaBeta
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for the expert bot. Searches the game tree with
+ * iterative-deepening negamax alpha-beta until a deadline, and plays the best
+ * move of the deepest search that finished in time. Extra threads search the
+ * same position at staggered depths and share the transposition table (Lazy
+ * SMP), so results found by one thread cut off work for the others.
+ */
+
+public class AlphaBeta {
+    // Score bounds; a finished game scores beyond any evaluation
+    public static final int INFINITY = 30000;
+    public static final int WIN = 20000;
+
+    // Nodes searched between clock checks; must be a power of two. A node can
+    // take 100 microseconds early in the game, so the clock is read often
+    // enough to stop within a few milliseconds of the deadline
+    private static final int CHECK_INTERVAL = 32;
+
+    // Pieces are listed from smallest to largest
+    private static final int MAX_POINTS = PieceTable.getPoints(PieceTable.PIECES - 1);
+
+    // Length of the scratch buffer of bucket starts that order needs
+    static final int ORDER_BUCKETS = MAX_POINTS + 2;
+
+    // Default log2 of the number of transposition table entries
+    private static final int TABLE_BITS = 20;
+
+    private final TranspositionTable table;
+    private final Searcher[] searchers;
+
+    // Whether moves below the root are ordered by MoveOrderer, or only by
+    // the stored move and piece size
+    private boolean learnedOrdering = true;
+
+    // Search state shared by the threads
+    private long deadline;
+    private int maxDepth;
+    private volatile boolean stopped;
+
+    /*
+     * Method name: AlphaBeta
+     * Description: Constructor method for a search with the default table size,
+     * using every available core.
+     */
+    public AlphaBeta() {
+        this(TABLE_BITS, Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Method name: AlphaBeta
+     * Parameters: int tableBits - The log2 of the number of transposition table
+     * entries
+     * int threads - The number of search threads
+     * Description: Constructor method for a search with a given table size and
+     * number of threads.
+     */
+    public AlphaBeta(int tableBits, int threads) {
+        this(new HeapTable(tableBits), threads);
+    }
+
+    /*
+     * Method name: AlphaBeta
+     * Parameters: TranspositionTable table - The table to share between the
+     * threads, such as an OffHeapTable for very large tables
+     * int threads - The number of search threads
+     * Description: Constructor method for a search with a given table and number
+     * of threads.
+     */
+    public AlphaBeta(TranspositionTable table, int threads) {
+        this(table, threads, IncrementalEvaluator::new);
+    }
+
+    /*
+     * Method name: AlphaBeta
+     * Parameters: TranspositionTable table - The table to share between the
+     * threads
+     * int threads - The number of search threads
+     * Supplier<Evaluator> evaluators - Creates the evaluator of each thread
+     * Description: Constructor method for a search with a given evaluation.
+     */
+    public AlphaBeta(TranspositionTable table, int threads, Supplier<Evaluator> evaluators) {
+        this.table = table;
+        searchers = new Searcher[Math.max(threads, 1)];
+        for (int i = 0; i < searchers.length; i++) {
+            searchers[i] = new Searcher(i, evaluators.get());
+        }
+    }
+
+    /*
+     * Method name: setLearnedOrdering
+     * Parameters: boolean learnedOrdering - Whether to order moves by history,
+     * killers and the static score, or only by the stored move and piece size
+     * Description: Mutator method for the learnedOrdering attribute, so the
+     * benchmark can measure what the ordering saves.
+     */
+    public void setLearnedOrdering(boolean learnedOrdering) {
+        this.learnedOrdering = learnedOrdering;
+    }
+
+    /*
+     * Method name: getNodes()
+     * Return type: long - The number of positions visited by the last search on
+     * all threads
+     * Description: Accessor method for the nodes of every searcher.
+     */
+    public long getNodes() {
+        // Declare variables
+        long nodes = 0;
+
+        for (Searcher searcher : searchers) {
+            nodes += searcher.nodes;
+        }
+
+        return nodes;
+    }
+
+    /*
+     * Method name: getCompletedDepth()
+     * Return type: int - The depth of the last search that finished in time
+     * Description: Accessor method for the completed depth of the main searcher.
+     */
+    public int getCompletedDepth() {
+        return searchers[0].completedDepth;
+    }
+
+    /*
+     * Method name: findMove
+     * Parameters: GameState position - The position to search; it is not changed
+     * long timeLimit - The time to search for in milliseconds
+     * Return type: int - The best packed move found, or Move.PASS if there are no
+     * legal moves
+     * Description: Searches one ply deeper at a time until the time runs out. The
+     * main searcher runs on the calling thread and decides the move; helpers run
+     * on their own threads until it is done.
+     */
+    public int findMove(GameState position, long timeLimit) {
+        return findMove(position, timeLimit, GameState.MAX_PLIES);
+    }
+
+    /*
+     * Method name: findMove
+     * Parameters: GameState position - The position to search; it is not changed
+     * long timeLimit - The time to search for in milliseconds
+     * int maxDepth - The deepest search to start
+     * Return type: int - The best packed move found, or Move.PASS if there are no
+     * legal moves
+     * Description: Searches one ply deeper at a time until the time runs out or
+     * the given depth has been searched.
+     */
+    public int findMove(GameState position, long timeLimit, int maxDepth) {
+        // Declare variables
+        Thread[] helpers = new Thread[searchers.length - 1];
+        Searcher main = searchers[0];
+        int move;
+
+        this.maxDepth = maxDepth;
+        deadline = System.nanoTime() + timeLimit * 1_000_000L;
+        stopped = false;
+        table.newSearch();
+        for (Searcher searcher : searchers) {
+            searcher.reset(position);
+        }
+
+        // Nothing to search with fewer than two moves
+        if (main.rootMoves() < 2) {
+            return main.chosenMove;
+        }
+
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Thread(searchers[i + 1]);
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+
+        main.run();
+        move = main.chosenMove;
+
+        // Stop the helpers
+        stopped = true;
+        for (Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return move;
+    }
+
+    /*
+     * Method name: order
+     * Parameters: MoveList moves - The moves to sort
+     * int first - The move to search first, or Move.NONE
+     * int[] sorted - Scratch space as large as the list
+     * int[] starts - Scratch space of ORDER_BUCKETS bucket starts
+     * Description: Sorts moves so the given move comes first, followed by the
+     * rest from largest to smallest piece.
+     */
+    static void order(MoveList moves, int first, int[] sorted, int[] starts) {
+        // Declare variables
+        int move;
+
+        // Count moves of each size, then place them largest first
+        Arrays.fill(starts, 0);
+        for (int i = 0; i < moves.size(); i++) {
+            starts[MAX_POINTS - Move.points(moves.get(i)) + 1]++;
+        }
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            move = moves.get(i);
+            sorted[starts[MAX_POINTS - Move.points(move)]++] = move;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            moves.set(i, sorted[i]);
+            if (sorted[i] == first) {
+                moves.swap(0, i);
+            }
+        }
+    }
+
+    /*
+     * Program name: Searcher
+     * Description: One search thread, with its own copy of the position and its
+     * own move lists. Searcher 0 is the main searcher; odd helpers start one
+     * ply deeper and every helper searches the root moves in a rotated order,
+     * so the threads spread out instead of repeating the same work.
+     */
+    private class Searcher implements Runnable {
+        private final int id;
+        private final MoveGenerator generator = new MoveGenerator();
+        private final MoveOrderer orderer = new MoveOrderer();
+        private final Evaluator evaluator;
+
+        // Move lists per search ply, created when first reached
+        private final MoveList[] lists = new MoveList[GameState.MAX_PLIES + 1];
+
+        // Scratch buffers for ordering moves
+        private final int[] sorted = new int[MoveGenerator.MAX_PLACEMENTS];
+        private final int[] starts = new int[ORDER_BUCKETS];
+
+        private GameState state;
+        private long nodes;
+        private int completedDepth;
+        private int chosenMove;
+
+        /*
+         * Method name: Searcher
+         * Parameters: int id - The index of the searcher
+         * Evaluator evaluator - The evaluator to score positions with
+         * Description: Constructor method for a searcher.
+         */
+        Searcher(int id, Evaluator evaluator) {
+            this.id = id;
+            this.evaluator = evaluator;
+        }
+
+        /*
+         * Method name: reset
+         * Parameters: GameState position - The root position
+         * Description: Prepares a new search and lists the root moves.
+         */
+        void reset(GameState position) {
+            // Declare variables
+            MoveList root = listAt(0);
+
+            state = new GameState(position);
+            state.setEvaluator(evaluator);
+            orderer.newSearch();
+            nodes = 0;
+            completedDepth = 0;
+
+            // Generate root moves
+            if (state.generateMoves(generator, root) == 0) {
+                chosenMove = Move.PASS;
+            } else {
+                order(root, Move.NONE, sorted, starts);
+                chosenMove = root.get(0);
+            }
+        }
+
+        /*
+         * Method name: rootMoves
+         * Return type: int - The number of legal moves at the root
+         * Description: Counts the root moves.
+         */
+        int rootMoves() {
+            return listAt(0).size();
+        }
+
+        /*
+         * Method name: run
+         * Description: Searches one ply deeper at a time until stopped.
+         */
+        public void run() {
+            // Declare variables
+            MoveList rootMoves = listAt(0);
+            int iterationBest, move, score, alpha, count = rootMoves.size();
+
+            for (int depth = 1 + (id & 1); depth <= maxDepth && !stopped; depth++) {
+                // Search the best move of the last iteration first
+                order(rootMoves, chosenMove, sorted, starts);
+                alpha = -INFINITY;
+                iterationBest = Move.NONE;
+
+                for (int n = 0; n < count && !stopped; n++) {
+                    // Helpers visit the other moves starting from a different one
+                    move = rootMoves.get(n == 0 || id == 0 ? n : 1 + (n - 1 + id) % (count - 1));
+                    state.makeMove(move);
+                    score = -search(depth - 1, -INFINITY, -alpha, 1);
+                    state.unmakeMove();
+
+                    // Moves searched before the deadline are still trusted, since
+                    // the previous best move was searched first
+                    if (stopped || System.nanoTime() > deadline) {
+                        stopped = true;
+                        break;
+                    }
+                    if (score > alpha) {
+                        alpha = score;
+                        iterationBest = move;
+                    }
+                }
+
+                if (iterationBest != Move.NONE) {
+                    chosenMove = iterationBest;
+                }
+                if (!stopped) {
+                    completedDepth = depth;
+                    table.store(state.getCanonicalHash(), Symmetry.move(state.getSymmetry(), chosenMove), alpha,
+                            depth, TranspositionTable.EXACT);
+                }
+            }
+        }
+
+        /*
+         * Method name: search
+         * Parameters: int depth - The number of plies left to search
+         * int alpha - The lowest score the player to move is guaranteed
+         * int beta - The highest score the opponent allows
+         * int ply - The distance from the root
+         * Return type: int - The score from the point of view of the player to move
+         * Description: Negamax alpha-beta search of the current position.
+         */
+        private int search(int depth, int alpha, int beta, int ply) {
+            // Declare variables
+            int alphaStart = alpha, ttMove = Move.NONE, best = -INFINITY, bestMove = Move.NONE;
+            int score, move, bound, symmetry;
+            long key, entry;
+            MoveList moves;
+
+            // Check the clock now and then
+            if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+                stopped = true;
+            }
+            if (stopped) {
+                return 0;
+            }
+
+            if (depth == 0) {
+                return evaluator.evaluate(state);
+            }
+
+            // Use stored results of this position or a mirror image of it
+            symmetry = state.getSymmetry();
+            key = state.getCanonicalHash();
+            entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                ttMove = Symmetry.move(symmetry, TranspositionTable.move(entry));
+                if (TranspositionTable.depth(entry) >= depth) {
+                    score = TranspositionTable.score(entry);
+                    switch (TranspositionTable.bound(entry)) {
+                        case TranspositionTable.EXACT:
+                            return score;
+                        case TranspositionTable.LOWER:
+                            alpha = Math.max(alpha, score);
+                            break;
+                        case TranspositionTable.UPPER:
+                            beta = Math.min(beta, score);
+                            break;
+                    }
+                    if (alpha >= beta) {
+                        return score;
+                    }
+                }
+            }
+
+            moves = listAt(ply);
+            if (state.generateMoves(generator, moves) == 0) {
+                // Opponent passed last turn too: the game is over
+                if (state.getPasses() >= 1) {
+                    return finalScore();
+                }
+
+                // Pass and let the opponent continue
+                state.makeMove(Move.PASS);
+                score = -search(depth, -beta, -alpha, ply + 1);
+                state.unmakeMove();
+                return score;
+            }
+
+            if (learnedOrdering) {
+                orderer.order(moves, ttMove, ply, state.getBits(), state.getSideToMove());
+            } else {
+                order(moves, ttMove, sorted, starts);
+            }
+            for (int i = 0; i < moves.size(); i++) {
+                move = moves.get(i);
+                state.makeMove(move);
+                score = -search(depth - 1, -beta, -alpha, ply + 1);
+                state.unmakeMove();
+
+                if (stopped) {
+                    return 0;
+                }
+                if (score > best) {
+                    best = score;
+                    bestMove = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            if (learnedOrdering) {
+                                orderer.cutoff(move, depth, ply, state.getSideToMove());
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+
+            // Store the result with the kind of bound it is
+            if (best <= alphaStart) {
+                bound = TranspositionTable.UPPER;
+            } else if (best >= beta) {
+                bound = TranspositionTable.LOWER;
+            } else {
+                bound = TranspositionTable.EXACT;
+            }
+            table.store(key, Symmetry.move(symmetry, bestMove), best, depth, bound);
+
+            return best;
+        }
+
+        /*
+         * Method name: finalScore
+         * Return type: int - The exact score for the player to move of a finished game
+         * Description: Scores a finished game so any win beats any evaluation.
+         */
+        private int finalScore() {
+            // Declare variables
+            int diff = state.scoreDifference(state.getSideToMove());
+
+            if (diff > 0) {
+                return WIN + diff;
+            } else if (diff < 0) {
+                return -WIN + diff;
+            }
+            return 0;
+        }
+
+        /*
+         * Method name: listAt
+         * Parameters: int ply - The distance from the root
+         * Return type: MoveList - The move list for the ply
+         * Description: Returns the move list of a ply, creating it if needed.
+         */
+        private MoveList listAt(int ply) {
+            if (lists[ply] == null) {
+                lists[ply] = new MoveList();
+            }
+            return lists[ply];
+        }
+    }
+}
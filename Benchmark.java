@@ -0,0 +1,115 @@
+import java.util.*;
+
+/*
+ * Program name: Benchmark
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Program that measures the expert bot's search. A fixed set of
+ * positions is reached by seeded random play, and each is searched to a fixed
+ * depth on one thread with a fresh transposition table, so the node counts
+ * only change when the search itself does. Fewer nodes at the same depth mean
+ * better move ordering. Each position is searched twice, once ordering moves
+ * only by the stored move and piece size and once with the history, killers
+ * and static score of MoveOrderer, so the nodes the ordering saves are shown.
+ */
+
+public class Benchmark {
+    // Positions searched when no options are given: the plies reached by
+    // random play, from each seed
+    private static final int[] PLIES = { 4, 8, 12, 16, 20, 24 };
+    private static final int DEFAULT_SEEDS = 4;
+    private static final int DEFAULT_DEPTH = 3;
+
+    // Table size, and a time limit no search reaches
+    private static final int TABLE_BITS = 20;
+    private static final long TIME_LIMIT = 3_600_000;
+
+    // Move generation for reaching the positions
+    private static final MoveGenerator GENERATOR = new MoveGenerator();
+
+    /*
+     * Method name: position
+     * Parameters: long seed - The seed of the random moves
+     * int plies - The number of moves to play
+     * Return type: GameState - The position reached, or an earlier one if the
+     * game ended first
+     * Description: Plays random moves from a new game.
+     */
+    private static GameState position(long seed, int plies) {
+        // Declare variables
+        GameState state = new GameState();
+        MoveList moves = new MoveList();
+        Random random = new Random(seed);
+
+        for (int i = 0; i < plies && !state.isGameOver(GENERATOR); i++) {
+            if (state.generateMoves(GENERATOR, moves) == 0) {
+                state.makeMove(Move.PASS);
+            } else {
+                state.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+
+        return state;
+    }
+
+    /*
+     * Method name: search
+     * Parameters: GameState state - The position to search
+     * int depth - The depth to search to
+     * boolean learnedOrdering - Whether to use MoveOrderer's ordering
+     * Return type: long[] - The nodes visited and the time taken in
+     * milliseconds
+     * Description: Searches a position with a fresh table on one thread.
+     */
+    private static long[] search(GameState state, int depth, boolean learnedOrdering) {
+        // Declare variables
+        AlphaBeta searcher = new AlphaBeta(new HeapTable(TABLE_BITS), 1);
+        long time;
+
+        searcher.setLearnedOrdering(learnedOrdering);
+        time = System.nanoTime();
+        searcher.findMove(state, TIME_LIMIT, depth);
+        time = (System.nanoTime() - time) / 1_000_000;
+
+        return new long[] { searcher.getNodes(), time };
+    }
+
+    /*
+     * Method name: main
+     * Parameters: String[] args - Optionally the number of seeds, then the
+     * depth to search
+     * Description: Searches every position with both orderings and prints
+     * the nodes and time of each, then the totals and the reduction.
+     */
+    public static void main(String[] args) {
+        // Declare variables
+        int seeds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEEDS;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        long baseNodes = 0, baseTime = 0, totalNodes = 0, totalTime = 0;
+        long[] base, ordered;
+        GameState state;
+
+        System.out.printf("%-6s%-6s%14s%10s%14s%10s%n", "Seed", "Ply", "Base nodes", "ms", "Nodes", "ms");
+        for (int seed = 1; seed <= seeds; seed++) {
+            for (int plies : PLIES) {
+                state = position(seed, plies);
+                base = search(state, depth, false);
+                ordered = search(state, depth, true);
+
+                System.out.printf("%-6d%-6d%14d%10d%14d%10d%n", seed, state.getPly(), base[0], base[1], ordered[0],
+                        ordered[1]);
+                baseNodes += base[0];
+                baseTime += base[1];
+                totalNodes += ordered[0];
+                totalTime += ordered[1];
+            }
+        }
+
+        System.out.println();
+        System.out.printf("Depth: %d%n", depth);
+        System.out.printf("Total nodes: %d without ordering, %d with%n", baseNodes, totalNodes);
+        System.out.printf("Total time: %d ms without ordering, %d ms with%n", baseTime, totalTime);
+        System.out.printf("Node reduction: %.1f%%%n", baseNodes == 0 ? 0 : 100.0 * (baseNodes - totalNodes) / baseNodes);
+        System.out.printf("Nodes per second: %d%n", totalTime == 0 ? 0 : totalNodes * 1000 / totalTime);
+    }
+}
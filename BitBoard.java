@@ -0,0 +1,521 @@
+/*
+ * Program name: BitBoard
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a compact bitboard representation of the
+ * game board. Each mask packs the 14x14 board into four longs, one 16-bit lane
+ * per row, so that legality checks become a handful of AND/OR operations.
+ */
+
+public class BitBoard {
+    // Mask layout: bit (r * ROW_BITS + c), four rows per long
+    public static final int WORDS = 4;
+    public static final int ROW_BITS = 16;
+    public static final int CELLS = WORDS * 64;
+
+    // Number of longs written by saveMasks
+    public static final int SAVED_WORDS = 4 * WORDS;
+
+    // Player indexes
+    public static final int P1_INDEX = 0;
+    public static final int P2_INDEX = 1;
+
+    // Bits that belong to the board (14 bits in each of the first 14 lanes)
+    private static final long[] VALID = new long[WORDS];
+
+    // Starting positions
+    private static final long[] STARTS = new long[WORDS];
+
+    static {
+        // Mark valid board cells
+        for (int i = 0; i < BlokusDuo.BOARD_SIZE; i++) {
+            for (int j = 0; j < BlokusDuo.BOARD_SIZE; j++) {
+                setBit(VALID, i, j);
+            }
+        }
+
+        // Mark starting positions
+        setBit(STARTS, BlokusDuo.START_1, BlokusDuo.START_1);
+        setBit(STARTS, BlokusDuo.START_2, BlokusDuo.START_2);
+    }
+
+    private final long[][] occupied = new long[2][WORDS];
+    private final long[][] forbidden = new long[2][WORDS];
+    private final long[][] corners = new long[2][WORDS];
+
+    // Scratch masks for placing tiles without allocating
+    private final long[] edges = new long[WORDS];
+    private final long[] diagonals = new long[WORDS];
+    private final long[] placed = new long[WORDS];
+
+    /*
+     * Method name: BitBoard
+     * Description: Constructor method that creates an empty board where both
+     * players may start on either starting position.
+     */
+    public BitBoard() {
+        System.arraycopy(STARTS, 0, corners[P1_INDEX], 0, WORDS);
+        System.arraycopy(STARTS, 0, corners[P2_INDEX], 0, WORDS);
+    }
+
+    /*
+     * Method name: BitBoard
+     * Parameters: BitBoard other - The bitboard to copy
+     * Description: Copy constructor.
+     */
+    public BitBoard(BitBoard other) {
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(other.occupied[p], 0, occupied[p], 0, WORDS);
+            System.arraycopy(other.forbidden[p], 0, forbidden[p], 0, WORDS);
+            System.arraycopy(other.corners[p], 0, corners[p], 0, WORDS);
+        }
+    }
+
+    /*
+     * Method name: fromBoard
+     * Parameters: char[][] board - The game board
+     * Return type: BitBoard - The bitboard holding the same tiles as the board
+     * Description: Converts a display board into a bitboard. Tiles marked with
+     * the placing character belong to player 2, and the corner masks are rebuilt
+     * from the tiles rather than from any available markers on the board.
+     */
+    public static BitBoard fromBoard(char[][] board) {
+        // Declare variables
+        BitBoard bits = new BitBoard();
+
+        // Read the occupied squares of each player
+        for (int i = 0; i < BlokusDuo.BOARD_SIZE; i++) {
+            for (int j = 0; j < BlokusDuo.BOARD_SIZE; j++) {
+                if (board[i][j] == BlokusDuo.P1) {
+                    setBit(bits.occupied[P1_INDEX], i, j);
+                } else if (board[i][j] == BlokusDuo.P2 || board[i][j] == BlokusDuo.PLACEABLE) {
+                    setBit(bits.occupied[P2_INDEX], i, j);
+                }
+            }
+        }
+
+        bits.rebuildMasks();
+
+        return bits;
+    }
+
+    /*
+     * Method name: toBoard
+     * Parameters: char[][] board - The game board to write to
+     * Description: Writes the tiles of both players into a display board. All
+     * other squares are cleared.
+     */
+    public void toBoard(char[][] board) {
+        for (int i = 0; i < BlokusDuo.BOARD_SIZE; i++) {
+            for (int j = 0; j < BlokusDuo.BOARD_SIZE; j++) {
+                if (testBit(occupied[P1_INDEX], i, j)) {
+                    board[i][j] = BlokusDuo.P1;
+                } else if (testBit(occupied[P2_INDEX], i, j)) {
+                    board[i][j] = BlokusDuo.P2;
+                } else {
+                    board[i][j] = BlokusDuo.EMPTY;
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: markAvailable
+     * Parameters: char[][] board - The game board to write to
+     * char player - The character representing the player
+     * Description: Marks the available corners of a player on a display board.
+     */
+    public void markAvailable(char[][] board, char player) {
+        long[] playerCorners = corners[playerIndex(player)];
+
+        for (int i = 0; i < BlokusDuo.BOARD_SIZE; i++) {
+            for (int j = 0; j < BlokusDuo.BOARD_SIZE; j++) {
+                if (testBit(playerCorners, i, j)) {
+                    board[i][j] = BlokusDuo.AVAIL;
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: playerIndex
+     * Parameters: char player - The character representing the player
+     * Return type: int - The index of the player's masks
+     * Description: Converts a player character into a mask index.
+     */
+    public static int playerIndex(char player) {
+        return player == BlokusDuo.P1 ? P1_INDEX : P2_INDEX;
+    }
+
+    /*
+     * Method name: getOccupied
+     * Parameters: int p - The player index
+     * Return type: long[] - The squares covered by the player
+     * Description: Accessor method for the occupied masks.
+     */
+    public long[] getOccupied(int p) {
+        return occupied[p];
+    }
+
+    /*
+     * Method name: getForbidden
+     * Parameters: int p - The player index
+     * Return type: long[] - The squares the player may not cover
+     * Description: Accessor method for the forbidden masks.
+     */
+    public long[] getForbidden(int p) {
+        return forbidden[p];
+    }
+
+    /*
+     * Method name: getCorners
+     * Parameters: int p - The player index
+     * Return type: long[] - The squares a new tile of the player may touch
+     * Description: Accessor method for the corner masks.
+     */
+    public long[] getCorners(int p) {
+        return corners[p];
+    }
+
+    /*
+     * Method name: empty
+     * Parameters: long[] dst - The mask to write the empty squares to
+     * Description: Finds the squares of the board that no tile covers.
+     */
+    public void empty(long[] dst) {
+        for (int w = 0; w < WORDS; w++) {
+            dst[w] = VALID[w] & ~(occupied[P1_INDEX][w] | occupied[P2_INDEX][w]);
+        }
+    }
+
+    /*
+     * Method name: isEmpty
+     * Parameters: int r - The row of the square
+     * int c - The column of the square
+     * Return type: boolean - Whether or not no player covers the square
+     * Description: Checks if a square is empty.
+     */
+    public boolean isEmpty(int r, int c) {
+        return !testBit(occupied[P1_INDEX], r, c) && !testBit(occupied[P2_INDEX], r, c);
+    }
+
+    /*
+     * Method name: canPlace
+     * Parameters: int p - The player index
+     * int[] rowMasks - The squares of the tile, one bit mask per row
+     * int rows - The length of the tile
+     * int cols - The width of the tile
+     * int r - The row of the tile
+     * int c - The column of the tile
+     * Return type: boolean - Whether or not the tile can be placed
+     * Description: Checks if a tile fits on the board, covers no forbidden
+     * squares and touches at least one of the player's corners.
+     */
+    public boolean canPlace(int p, int[] rowMasks, int rows, int cols, int r, int c) {
+        // Declare variables
+        long[] playerForbidden = forbidden[p], playerCorners = corners[p];
+        long bits;
+        boolean touchesCorner = false;
+
+        // Tile is out of bounds
+        if (r < 0 || c < 0 || r + rows > BlokusDuo.BOARD_SIZE || c + cols > BlokusDuo.BOARD_SIZE) {
+            return false;
+        }
+
+        // Compare each row of the tile against the board
+        for (int i = 0; i < rows; i++) {
+            bits = (long) rowMasks[i] << c;
+            if ((row(playerForbidden, r + i) & bits) != 0) {
+                return false;
+            }
+            touchesCorner |= (row(playerCorners, r + i) & bits) != 0;
+        }
+
+        return touchesCorner;
+    }
+
+    /*
+     * Method name: place
+     * Parameters: int p - The player index
+     * int[] rowMasks - The squares of the tile, one bit mask per row
+     * int rows - The length of the tile
+     * int r - The row of the tile. Assumed to be valid.
+     * int c - The column of the tile. Assumed to be valid.
+     * Description: Places a tile for a player and updates the forbidden and
+     * corner masks of both players from the placed squares only.
+     */
+    public void place(int p, int[] rowMasks, int rows, int r, int c) {
+        tileMask(rowMasks, rows, r, c, placed);
+        place(p, placed);
+    }
+
+    /*
+     * Method name: place
+     * Parameters: int p - The player index
+     * long[] tileMask - The squares covered by the tile
+     * Description: Places a tile mask for a player.
+     */
+    public void place(int p, long[] tileMask) {
+        // Declare variables
+        int q = 1 - p;
+        boolean firstTile = isZero(occupied[p]);
+
+        adjacent(tileMask, edges);
+        diagonal(tileMask, diagonals);
+
+        for (int w = 0; w < WORDS; w++) {
+            // Cover the squares
+            occupied[p][w] |= tileMask[w];
+            forbidden[p][w] |= tileMask[w] | edges[w];
+            forbidden[q][w] |= tileMask[w];
+
+            // The unused starting position is dropped after the first tile
+            if (firstTile) {
+                corners[p][w] = 0;
+            }
+
+            // New corners are the diagonals of the tile that are still allowed
+            corners[p][w] = (corners[p][w] | diagonals[w]) & ~forbidden[p][w];
+            corners[q][w] &= ~tileMask[w];
+        }
+    }
+
+    /*
+     * Method name: saveMasks
+     * Parameters: long[] buffer - The buffer to write to
+     * int offset - The index to start writing at
+     * Description: Copies the forbidden and corner masks of both players so a
+     * placement can be undone.
+     */
+    public void saveMasks(long[] buffer, int offset) {
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(forbidden[p], 0, buffer, offset + p * 2 * WORDS, WORDS);
+            System.arraycopy(corners[p], 0, buffer, offset + (p * 2 + 1) * WORDS, WORDS);
+        }
+    }
+
+    /*
+     * Method name: undoPlace
+     * Parameters: int p - The player index
+     * long[] tileMask - The squares covered by the tile being removed
+     * long[] buffer - The buffer written by saveMasks before the placement
+     * int offset - The index the masks were written at
+     * Description: Removes a tile and restores the masks saved before it was
+     * placed.
+     */
+    public void undoPlace(int p, long[] tileMask, long[] buffer, int offset) {
+        for (int w = 0; w < WORDS; w++) {
+            occupied[p][w] &= ~tileMask[w];
+        }
+        for (int q = 0; q < 2; q++) {
+            System.arraycopy(buffer, offset + q * 2 * WORDS, forbidden[q], 0, WORDS);
+            System.arraycopy(buffer, offset + (q * 2 + 1) * WORDS, corners[q], 0, WORDS);
+        }
+    }
+
+    /*
+     * Method name: rebuildMasks
+     * Description: Recalculates the forbidden and corner masks of both players
+     * from the occupied masks.
+     */
+    private void rebuildMasks() {
+        for (int p = 0; p < 2; p++) {
+            adjacent(occupied[p], edges);
+            diagonal(occupied[p], diagonals);
+
+            for (int w = 0; w < WORDS; w++) {
+                forbidden[p][w] = occupied[P1_INDEX][w] | occupied[P2_INDEX][w] | edges[w];
+                corners[p][w] = (isZero(occupied[p]) ? STARTS[w] : diagonals[w]) & ~forbidden[p][w];
+            }
+        }
+    }
+
+    /*
+     * Method name: bitIndex
+     * Parameters: int r - The row of the square
+     * int c - The column of the square
+     * Return type: int - The position of the square in a mask
+     * Description: Converts board coordinates into a mask bit index.
+     */
+    public static int bitIndex(int r, int c) {
+        return r * ROW_BITS + c;
+    }
+
+    /*
+     * Method name: tileMask
+     * Parameters: int[] rowMasks - The squares of the tile, one bit mask per row
+     * int rows - The length of the tile
+     * int r - The row of the tile
+     * int c - The column of the tile
+     * long[] dst - The mask to write the tile squares to
+     * Description: Builds the board mask of a placed tile.
+     */
+    public static void tileMask(int[] rowMasks, int rows, int r, int c, long[] dst) {
+        dst[0] = dst[1] = dst[2] = dst[3] = 0;
+        for (int i = 0; i < rows; i++) {
+            orRow(dst, r + i, (long) rowMasks[i] << c);
+        }
+    }
+
+    /*
+     * Method name: testBit
+     * Parameters: long[] mask - The mask to check
+     * int r - The row of the square
+     * int c - The column of the square
+     * Return type: boolean - Whether or not the square is set
+     * Description: Checks a single square of a mask.
+     */
+    public static boolean testBit(long[] mask, int r, int c) {
+        int idx = bitIndex(r, c);
+        return (mask[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    /*
+     * Method name: setBit
+     * Parameters: long[] mask - The mask to update
+     * int r - The row of the square
+     * int c - The column of the square
+     * Description: Sets a single square of a mask.
+     */
+    public static void setBit(long[] mask, int r, int c) {
+        int idx = bitIndex(r, c);
+        mask[idx >>> 6] |= 1L << idx;
+    }
+
+    /*
+     * Method name: row
+     * Parameters: long[] mask - The mask to read
+     * int r - The row to read
+     * Return type: long - The 16-bit lane of the row
+     * Description: Extracts the squares of one row of a mask.
+     */
+    public static long row(long[] mask, int r) {
+        return (mask[r >>> 2] >>> ((r & 3) << 4)) & 0xFFFFL;
+    }
+
+    /*
+     * Method name: orRow
+     * Parameters: long[] mask - The mask to update
+     * int r - The row to update
+     * long bits - The squares to set in the row
+     * Description: Sets squares in one row of a mask.
+     */
+    public static void orRow(long[] mask, int r, long bits) {
+        mask[r >>> 2] |= bits << ((r & 3) << 4);
+    }
+
+    /*
+     * Method name: isZero
+     * Parameters: long[] mask - The mask to check
+     * Return type: boolean - Whether or not no square is set
+     * Description: Checks if a mask is empty.
+     */
+    public static boolean isZero(long[] mask) {
+        return (mask[0] | mask[1] | mask[2] | mask[3]) == 0;
+    }
+
+    /*
+     * Method name: bitCount
+     * Parameters: long[] mask - The mask to count
+     * Return type: int - The number of squares set
+     * Description: Counts the squares of a mask.
+     */
+    public static int bitCount(long[] mask) {
+        return Long.bitCount(mask[0]) + Long.bitCount(mask[1]) + Long.bitCount(mask[2])
+                + Long.bitCount(mask[3]);
+    }
+
+    /*
+     * Method name: nthBit
+     * Parameters: long[] mask - The mask to search
+     * int n - The position of the square among the set squares, from 0
+     * Return type: int - The bit index of the square
+     * Description: Finds the n-th set square of a mask in bit index order.
+     */
+    public static int nthBit(long[] mask, int n) {
+        // Declare variables
+        long word;
+
+        for (int w = 0; w < WORDS; w++) {
+            // Skip whole words
+            if (n >= Long.bitCount(mask[w])) {
+                n -= Long.bitCount(mask[w]);
+                continue;
+            }
+
+            word = mask[w];
+            for (int k = 0; k < n; k++) {
+                word &= word - 1;
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        return -1;
+    }
+
+    /*
+     * Method name: adjacent
+     * Parameters: long[] src - The squares to expand
+     * long[] dst - The mask to write the edge-adjacent squares to
+     * Description: Finds the squares that share an edge with the source squares.
+     */
+    public static void adjacent(long[] src, long[] dst) {
+        // Declare variables
+        long carryUp = 0, carryDown, west, east, north, south;
+
+        for (int w = 0; w < WORDS; w++) {
+            carryDown = w + 1 < WORDS ? src[w + 1] << 48 : 0;
+            east = src[w] << 1;
+            west = src[w] >>> 1;
+            south = (src[w] << ROW_BITS) | carryUp;
+            north = (src[w] >>> ROW_BITS) | carryDown;
+            carryUp = src[w] >>> 48;
+
+            dst[w] = (east | west | north | south) & VALID[w] & ~src[w];
+        }
+    }
+
+    /*
+     * Method name: diagonal
+     * Parameters: long[] src - The squares to expand
+     * long[] dst - The mask to write the diagonal squares to
+     * Description: Finds the squares that touch the corners of the source squares.
+     */
+    public static void diagonal(long[] src, long[] dst) {
+        // Declare variables
+        long carryUp = 0, carryDown, sides, above, below;
+
+        for (int w = 0; w < WORDS; w++) {
+            carryDown = w + 1 < WORDS ? src[w + 1] << 48 : 0;
+            below = (src[w] << ROW_BITS) | carryUp;
+            above = (src[w] >>> ROW_BITS) | carryDown;
+            sides = above | below;
+            carryUp = src[w] >>> 48;
+
+            dst[w] = ((sides << 1) | (sides >>> 1)) & VALID[w] & ~src[w];
+        }
+    }
+
+    /*
+     * Method name: spread
+     * Parameters: long[] src - The squares to expand
+     * long[] dst - The mask to write the expanded squares to; may be the source
+     * Description: Finds the source squares and every square that shares an
+     * edge or a corner with one of them.
+     */
+    public static void spread(long[] src, long[] dst) {
+        // Declare variables
+        long carryUp = 0, carryDown, row, next;
+
+        for (int w = 0; w < WORDS; w++) {
+            // Spread along each row, then up and down
+            carryDown = w + 1 < WORDS ? src[w + 1] << 48 : 0;
+            carryDown |= (carryDown << 1) | (carryDown >>> 1);
+            next = src[w];
+            row = next | (next << 1) | (next >>> 1);
+
+            dst[w] = (row | (row << ROW_BITS) | (row >>> ROW_BITS) | carryUp | carryDown) & VALID[w];
+            carryUp = (row >>> 48);
+        }
+    }
+}
@@ -6,7 +6,7 @@ import java.util.*;
 /*
  * Program name: BlokusDuo
  * Programmer: Raymond Zhang
- * Last modified: 19/06/2024
+ * Last modified: 17/10/2026
  * Description: Driver code for the Blokus Duo game.
  */
 
@@ -20,7 +20,7 @@ public class BlokusDuo {
     private static final String QUIT_VAL = "0";
 
     // Starting positions
-    private static final int START_1 = 4, START_2 = 9;
+    public static final int START_1 = 4, START_2 = 9;
 
     // Display board characters
     public static final char P1 = '@';
@@ -30,6 +30,10 @@ public class BlokusDuo {
     public static final char EMPTY = ' ';
     public static final char PLACEABLE = '+';
 
+    // Difficulties of the bot
+    public static final int EASY = 0, HARD = 1, EXPERT = 2, MASTER = 3;
+    public static final String[] DIFFICULTIES = { "Easy", "Hard", "Expert", "Master" };
+
     /*
      * Method name: printError
      * Parameters: String message - The message to print out when the error is
@@ -74,12 +78,13 @@ public class BlokusDuo {
                         "[@]    /________/__|\\____/| /\\__\\____/|_____/   [O][O]",
                         "[@][@]                    |/ | | \\ | | | / / \\  [@][O]",
                         "[O][@][@]                    |_|_/ \\_\\_/ \\_\\_/  [@][O]",
-                        "[O]                                                [@]",
+                        (menuType == 0 ? "[O]                                                [@]"
+                                : "[O]              <Select difficulty>               [@]"),
                         String.format("[O][O][O]   %-31s     [@][@]",
-                                (menuType == 0 ? "[1] New game      [2] Load save" : "     <Select difficulty>")),
+                                (menuType == 0 ? "[1] New game      [2] Load save" : "[1] Easy  [2] Hard  [3] Expert")),
                         String.format("   [@]    %-35s   [O][@]",
                                 (menuType == 0 ? "  [3] How to play   [" + QUIT_VAL + "] Quit"
-                                        : "[1] Easy   [2] Hard   [" + QUIT_VAL + "] Main Menu")),
+                                        : "     [4] Master  [" + QUIT_VAL + "] Main Menu")),
                         "[@][@][@]                                       [O][@]",
                         "[O][@][O][@][@][@]      [@][@][O]            [O][O][O]",
                         "[O][O][O]   [@][@][O][O][O][@]   [O][O][O][O][@][@][@]"));
@@ -310,6 +315,22 @@ public class BlokusDuo {
         System.out.println();
     }
 
+    /*
+     * Method name: printTerritory
+     * Parameters: BitBoard bits - The game board
+     * Description: Outputs the number of empty squares only each player can
+     * still reach, and the number both can reach
+     */
+    public static void printTerritory(BitBoard bits) {
+        // Declare variables
+        Territory territory = new Territory();
+
+        territory.compute(bits);
+        System.out.printf("P1 Territory: %-3d  Contested: %-3d  P2 Territory: %-3d%n",
+                territory.exclusive(BitBoard.P1_INDEX), territory.contested(), territory.exclusive(BitBoard.P2_INDEX));
+        System.out.println();
+    }
+
     /*
      * Method name: printTiles()
      * Parameters: Map<String, Tile> tiles - The tile set used by the player
@@ -428,170 +449,79 @@ public class BlokusDuo {
         return 0 <= val && val < BOARD_SIZE;
     }
 
-    /*
-     * Method name: canMove
-     * Parameters: char[][] board - The game board
-     * Map<String, Tile> - The player's tile set
-     * char player - The character representing the player
-     * Return type: boolean - Whether or not the player can make any valid tile
-     * placements
-     */
-    public static ArrayList<AbstractMap.SimpleEntry<String, Tile>> getAllMoves(char[][] board, Map<String, Tile> tiles,
-            char player) {
-        ArrayList<AbstractMap.SimpleEntry<String, Tile>> allMoves = new ArrayList<>();
-        ArrayList<Tile> tileMoves;
-
-        // Check all tiles
-        for (Map.Entry<String, Tile> entry : tiles.entrySet()) {
-            // Check if tile has not been used and is placeable
-            if (!entry.getValue().isUsed() && entry.getValue().isPlaceable()) {
-                // Get the available placements of each tile
-                tileMoves = entry.getValue().getMoves(board, player);
-
-                // Add tile moves to total moves
-                for (Tile t : tileMoves) {
-                    allMoves.add(new AbstractMap.SimpleEntry<>(entry.getKey(), t));
-                }
-            }
-        }
-
-        return allMoves;
-    }
-
     /*
      * Method name: doMove
      * Parameters: char[][] board - The game board
      * Map<String,Tile> tiles - The player's tileSet
-     * char player - The character representing the player
-     * boolean isHard - The difficulty of the move selection
-     * Return type: int - The point value of the placed tile
-     * Description: Places a tile onto the board for player 2.
+     * BlokusEngine engine - The game, with player 2 to move
+     * Return type: int - The packed move that was placed
+     * Description: Places the bot's tile onto the board for player 2. The
+     * bot only chooses from the legal moves, so a rejected move is a bug.
      */
-    public static int doMove(char[][] board, Map<String, Tile> tiles, char player, boolean isHard, Tile prevMove) {
-        // Declare variables and constants
-        double MAX_DIST = (int)Math.sqrt(BOARD_SIZE*BOARD_SIZE*2); // The furthest a point can be from another
-        ArrayList<AbstractMap.SimpleEntry<String, Tile>> moves = getAllMoves(board, tiles, player);
-        int size, idx = 0, r, c, rTmp, cTmp;
-        double dist, minDist = MAX_DIST;
-        String tileName;
-        Tile t;
-
-        // Hard mode: Choose largest pieces closest to player's last move
-        if (isHard) {
-            // Find tile that is closest to
-            for(int i = 0; i<moves.size(); i++) {
-                // Get positions
-                rTmp = moves.get(i).getValue().getPosR();
-                cTmp = moves.get(i).getValue().getPosC();
-
-                // Get minimum distance from current move to previous move
-                dist = Math.hypot(prevMove.getPosC()-cTmp, prevMove.getPosR()-rTmp);
-
-                // Compare with current minimum distance
-                // Subtracting by tile points maximizes tile size
-                if(dist - moves.get(i).getValue().getPoints() < minDist) {
-                    // Update values
-                    minDist = dist - moves.get(i).getValue().getPoints();
-                    idx = i;
-                }
-            }
-        }
-        // Easy mode: Choose random piece
-        else {
-            // Get random tile
-            size = moves.size();
-            idx = (int) (Math.random() * size);
-        }
-
-        // Get tile piece
-        t = moves.get(idx).getValue();
-
-        // Get tile name
-        tileName = moves.get(idx).getKey();
+    public static int doMove(char[][] board, Map<String, Tile> tiles, BlokusEngine engine) {
+        // Declare variables
+        int move = engine.findMove();
 
-        // Get coordinates
-        r = t.getPosR();
-        c = t.getPosC();
+        if (!engine.play(move)) {
+            throw new IllegalStateException("Bot chose an illegal move: " + Move.toString(move));
+        }
 
         // Place tile on board
         // Use placing characters to let player 1 know where the tile was placed
-        t.placeTile(board, r, c, PLACEABLE);
+        Move.placeOnBoard(board, move, PLACEABLE);
 
         // Mark tile as used
-        tiles.get(tileName).setUsed(true);
+        tiles.get(Move.name(move)).setUsed(true);
 
-        return t.getPoints();
+        return move;
+    }
+
+    /*
+     * Method name: updatePlaceable
+     * Parameters: Map<String, Tile> tiles - The player's tile set
+     * int placeable - Bit mask of the piece ids with a legal move
+     * Description: Marks each unused tile as placeable if it has a legal move.
+     */
+    public static void updatePlaceable(Map<String, Tile> tiles, int placeable) {
+        for (int i = 0; i < PieceTable.PIECES; i++) {
+            tiles.get(PieceTable.getName(i)).setPlaceable((placeable & (1 << i)) != 0);
+        }
     }
 
     /*
      * Method name: updateAvailableSpaces
      * Parameters: char[][] board - The game board
-     * char player - The character representing the player to check available spaces
-     * for
-     * Map<String, Tile> - The tile set of the player
-     * Description: Marks valid placement spaces on the board for a player.
+     * BitBoard bits - The bitboard holding each player's corners
+     * int p - The index of the player to show available spaces for
+     * long[] marked - The squares currently marked as available on the board.
+     * Updated to match the player's corners.
+     * Description: Marks valid placement spaces on the board for a player. Only
+     * squares whose state changed since the last call are visited.
      */
-    public static void updateAvailableSpaces(char[][] board, char player, Map<String, Tile> tiles) {
-        // Declare variables and constants
-        final int[][] DIAG = { { 1, 1 }, { 1, -1 }, { -1, -1 }, { -1, 1 } }; // diagonals
-        final int[][] ADJ = { { 0, 1 }, { -1, 0 }, { 0, -1 }, { 1, 0 } }; // adjacent
-        int di, dj, ai, aj;
-        boolean isAdj = false, touchesCorner = false;
-
-        // Iterate through the board
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board[i][j] == player) {
-                    // Check each corner
-                    for (int[] dg : DIAG) {
-                        di = i + dg[0];
-                        dj = j + dg[1];
-                        // Check if corner is within the board and is empty
-                        if (inRange(di) && inRange(dj) && board[di][dj] == EMPTY) {
-                            // Check if its adjacent spaces do not match the player
-                            for (int k = 0; k < ADJ.length && !isAdj; k++) {
-                                ai = di + ADJ[k][0];
-                                aj = dj + ADJ[k][1];
-                                if (inRange(ai) && inRange(aj) && board[ai][aj] == player)
-                                    isAdj = true;
-                            }
-
-                            // Mark corner as available if no adjacent spaces were found
-                            if (!isAdj) {
-                                board[di][dj] = AVAIL;
-                            }
-                            // Reset looping condition
-                            isAdj = false;
-                        }
-                    }
+    public static void updateAvailableSpaces(char[][] board, BitBoard bits, int p, long[] marked) {
+        // Declare variables
+        long[] corners = bits.getCorners(p);
+        long changed;
+        int idx, r, c;
+
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            changed = marked[w] ^ corners[w];
+            while (changed != 0) {
+                idx = (w << 6) + Long.numberOfTrailingZeros(changed);
+                changed &= changed - 1;
+                r = idx >>> 4;
+                c = idx & 15;
+
+                // New corner
+                if (BitBoard.testBit(corners, r, c)) {
+                    board[r][c] = AVAIL;
                 }
-                // Make sure available spaces are not adjacent to player characters
-                // Existing available spaces may not be updated when new spaces are placed
-                else if (board[i][j] == AVAIL) {
-                    // Ensure available space touches at least one corner
-                    for (int[] dg : DIAG) {
-                        di = i + dg[0];
-                        dj = j + dg[1];
-                        // Check if corner is within the board and is empty
-                        touchesCorner |= inRange(di) && inRange(dj) && board[di][dj] == player;
-                    }
-                    // Check if its adjacent spaces do not match the player
-                    for (int k = 0; k < ADJ.length && !isAdj; k++) {
-                        ai = i + ADJ[k][0];
-                        aj = j + ADJ[k][1];
-                        if (inRange(ai) && inRange(aj) && board[ai][aj] == player)
-                            isAdj = true;
-                    }
-                    // Mark corner as unavailable if adjacent spaces were found
-                    if (isAdj || !touchesCorner) {
-                        board[i][j] = EMPTY;
-                    }
-
+                // Corner was lost; only clear it if no tile was placed over it
+                else if (board[r][c] == AVAIL) {
+                    board[r][c] = EMPTY;
                 }
-                // Reset corner and adjacency check
-                touchesCorner = false;
-                isAdj = false;
             }
+            marked[w] = corners[w];
         }
     }
 
@@ -600,10 +530,11 @@ public class BlokusDuo {
      * Parameters: String tileName - The name of the selected tile
      * Tile selectedTile - The Tile object of the selected tile
      * char[][] board - The game board
+     * BitBoard bits - The bitboard used to check placements
      * Description: Input loop to place a tile onto the board during a player's
      * turn.
      */
-    public static void placeTile(String tileName, Tile selectedTile, char[][] board) {
+    public static void placeTile(String tileName, Tile selectedTile, char[][] board, BitBoard bits) {
         // Declare variables
         int r = 0, c = 0;
         String coords, tileTransformation;
@@ -657,7 +588,8 @@ public class BlokusDuo {
         // tile
         while (!placed) {
             // Update and display board
-            canPlace = selectedTile.canPlaceAt(board, r, c, P1);
+            canPlace = bits.canPlace(BitBoard.P1_INDEX, selectedTile.getRowMasks(), selectedTile.getRows(),
+                    selectedTile.getCols(), r, c);
             printBoard(board, canPlace, r, c, selectedTile);
 
             // Display selection menu
@@ -785,13 +717,12 @@ public class BlokusDuo {
      * Map<String, Tile> p1Tiles - Tiles used by first player
      * int p2Score - Score of the second player
      * Map<String, Tile> p2Tiles - Tiles used by the second player
-     * boolean isHard - The difficulty of the bot; false is easy mode,
-     * true is hard mode
+     * int difficulty - The difficulty of the bot; EASY, HARD, EXPERT or MASTER
      * Descriptions: Runs the game loop for playing a round of the game
      */
 
     public static void runGame(char[][] board, int p1Score, Map<String, Tile> p1Tiles, int p2Score,
-            Map<String, Tile> p2Tiles, boolean isHard) {
+            Map<String, Tile> p2Tiles, int difficulty) {
         // Declare constants and variables
         final int MAX_SAVE_FILES = 12;
         int saveIndex;
@@ -801,19 +732,36 @@ public class BlokusDuo {
         boolean p1CanMove = true, p2CanMove = true, running = true, tileSelect = false,
                 validSave = false, menuSelect = false;
         Scanner sc = IO.newScanner();
+        BlokusEngine engine = new BlokusEngine(GameState.fromBoard(board, p1Score, p1Tiles, p2Score, p2Tiles),
+                difficulty);
+        long[] marked = new long[BitBoard.WORDS]; // Squares marked as available for player 1
+        int move, pieceId;
+
+        // Replace any available markers from the save with player 1's corners
+        for (char[] row : board) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                if (row[j] == AVAIL)
+                    row[j] = EMPTY;
+            }
+        }
+        updateAvailableSpaces(board, engine.getBits(), BitBoard.P1_INDEX, marked);
 
         // Update tile states for player 1
-        getAllMoves(board, p1Tiles, P1);
+        updatePlaceable(p1Tiles, engine.placeablePieces(BitBoard.P1_INDEX));
 
         // Game loop
         while (running) {
             // If Player 1 has any valid moves
             if (p1CanMove) {
+                // Let the master bot think while player 1 chooses a move
+                engine.startPondering();
+
                 // Give user options
                 do {
                     // Print game information
                     printBoard(board);
                     printScore(p1Score, p2Score);
+                    printTerritory(engine.getBits());
 
                     // If player 2 placed a tile, its initial character on the board would have been
                     // '+'
@@ -866,13 +814,28 @@ public class BlokusDuo {
                                     }
                                     // Place tile somewhere
                                     else {
-                                        placeTile(tileName, selectedTile, board);
+                                        placeTile(tileName, selectedTile, board, engine.getBits());
 
                                         // Exit loop if successfully placed tile
                                         if (selectedTile.isUsed()) {
-                                            p1Score += selectedTile.getPoints(); // Increment player score
-                                            tileSelect = true; // Exit tile selection
-                                            menuSelect = true; // Exit menu selection
+                                            // Play the placed tile
+                                            pieceId = PieceTable.pieceIndex(tileName);
+                                            move = Move.encode(pieceId, PieceTable.findOrientation(pieceId, selectedTile),
+                                                    selectedTile.getPosR(), selectedTile.getPosC());
+
+                                            // Take the tile back if the engine rejects it
+                                            if (!engine.play(move)) {
+                                                Move.placeOnBoard(board, move, EMPTY);
+                                                selectedTile.setUsed(false);
+                                                Arrays.fill(marked, 0);
+                                                updateAvailableSpaces(board, engine.getBits(), BitBoard.P1_INDEX,
+                                                        marked);
+                                                printError(String.format("Tile %s cannot be placed there.", tileName));
+                                            } else {
+                                                p1Score = engine.getScore(BitBoard.P1_INDEX); // Update player score
+                                                tileSelect = true; // Exit tile selection
+                                                menuSelect = true; // Exit menu selection
+                                            }
                                         }
                                     }
                                 }
@@ -917,7 +880,7 @@ public class BlokusDuo {
                                             System.out.println("Overwriting " + choiceSave + "...");
                                             try {
                                                 Saves.writeSave(choiceSave, board, p1Score, p1Tiles, p2Score,
-                                                        p2Tiles, isHard);
+                                                        p2Tiles, difficulty);
                                                 System.out.println("Save successfully overwritten.");
                                             }
                                             // File overwrite was unsuccessful
@@ -984,7 +947,7 @@ public class BlokusDuo {
                                                 case "yes":
                                                     try {
                                                         Saves.writeSave(choiceSave, board, p1Score, p1Tiles, p2Score,
-                                                                p2Tiles, isHard);
+                                                                p2Tiles, difficulty);
                                                         System.out.println();
                                                         System.out.println("Save successfully overwritten.");
                                                     }
@@ -1020,7 +983,7 @@ public class BlokusDuo {
                                         else {
                                             try {
                                                 Saves.writeSave(choiceSave, board, p1Score, p1Tiles, p2Score,
-                                                        p2Tiles, isHard);
+                                                        p2Tiles, difficulty);
                                                 System.out.printf("%nSaved game state in \"%s\".%n", choiceSave);
 
                                                 // Exit loop when done and return to main menu
@@ -1087,52 +1050,51 @@ public class BlokusDuo {
 
                 // Reset looping condition
                 menuSelect = false;
+
+                // Player 1 has moved or quit
+                engine.stopPondering();
             }
             // Player 1 has no valid moves; skip turn
             else {
                 System.out.println("Player 1 cannot move. Skipping turn...");
                 System.out.println("<Press [Enter] to continue>");
                 sc.nextLine();
+                if (!engine.play(Move.PASS)) {
+                    throw new IllegalStateException("Player 1 passed with a legal move");
+                }
             }
 
             // Game has not been quit
             if (running) {
-                // Update available spaces for player 2
-                updateAvailableSpaces(board, P2, p2Tiles);
-
-                // Keep an empty space for player 2 on the first turn
-                // Player 1 used the bottom right starting position
-                if (board[START_1][START_1] == EMPTY)
-                    board[START_1][START_1] = AVAIL;
-                // Player 1 used the top left starting position
-                else if (board[START_2][START_2] == EMPTY)
-                    board[START_2][START_2] = AVAIL;
-
                 // Check for available moves for p2
-                p2CanMove = !getAllMoves(board, p2Tiles, P2).isEmpty();
+                p2CanMove = engine.canMove(BitBoard.P2_INDEX);
 
                 // P2 move
                 if (p2CanMove) {
 
-                    // Place tile for p2 and increment score
-                    p2Score += doMove(board, p2Tiles, P2, isHard, selectedTile);
+                    // Place tile for p2 and update score
+                    doMove(board, p2Tiles, engine);
+                    p2Score = engine.getScore(BitBoard.P2_INDEX);
                 }
                 // Player 2 has no valid moves; skip turn
                 else {
                     System.out.println("Player 2 cannot move. Skipping turn...");
                     System.out.println("<Press [Enter] to continue>");
                     sc.nextLine();
+                    if (!engine.play(Move.PASS)) {
+                        throw new IllegalStateException("Player 2 passed with a legal move");
+                    }
                 }
 
                 // Update board
-                updateAvailableSpaces(board, P1, p1Tiles);
+                updateAvailableSpaces(board, engine.getBits(), BitBoard.P1_INDEX, marked);
 
                 // Check for available moves
-                p1CanMove = !getAllMoves(board, p1Tiles, P1).isEmpty();
-                p2CanMove = !getAllMoves(board, p2Tiles, P2).isEmpty();
+                p1CanMove = engine.canMove(BitBoard.P1_INDEX);
+                updatePlaceable(p1Tiles, engine.placeablePieces(BitBoard.P1_INDEX));
 
                 // Game is over when neither player can move
-                if (!p1CanMove && !p2CanMove) {
+                if (engine.isGameOver()) {
 
                     // Print final board and score
                     printBoard(board);
@@ -1250,7 +1212,7 @@ public class BlokusDuo {
         Map<String, Tile> p1Tiles;
         Map<String, Tile> p2Tiles;
         char[][] board = new char[BOARD_SIZE][BOARD_SIZE];
-        boolean isHard;
+        int difficulty;
 
         Scanner sc = IO.newScanner();
 
@@ -1287,8 +1249,8 @@ public class BlokusDuo {
                                 p2Tiles = Tile.newTileSet();
 
                                 // Start new game on easy mode
-                                isHard = false;
-                                runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, isHard);
+                                difficulty = EASY;
+                                runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, difficulty);
                                 validDifficulty = true;
                                 break;
                             // Hard mode
@@ -1303,8 +1265,40 @@ public class BlokusDuo {
                                 p2Tiles = Tile.newTileSet();
 
                                 // Start new game on hard mode
-                                isHard = true;
-                                runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, isHard);
+                                difficulty = HARD;
+                                runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, difficulty);
+                                validDifficulty = true;
+                                break;
+                            // Expert mode
+                            case "3":
+                            case "[3]":
+                            case "expert":
+                                // Reset game variables
+                                initBoard(board); // Initialize board
+                                p1Score = 0;
+                                p2Score = 0;
+                                p1Tiles = Tile.newTileSet();
+                                p2Tiles = Tile.newTileSet();
+
+                                // Start new game on expert mode
+                                difficulty = EXPERT;
+                                runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, difficulty);
+                                validDifficulty = true;
+                                break;
+                            // Master mode
+                            case "4":
+                            case "[4]":
+                            case "master":
+                                // Reset game variables
+                                initBoard(board); // Initialize board
+                                p1Score = 0;
+                                p2Score = 0;
+                                p1Tiles = Tile.newTileSet();
+                                p2Tiles = Tile.newTileSet();
+
+                                // Start new game on master mode
+                                difficulty = MASTER;
+                                runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, difficulty);
                                 validDifficulty = true;
                                 break;
 
@@ -1358,12 +1352,12 @@ public class BlokusDuo {
                                     p1Tiles = Saves.getPlayerTiles(choiceSave, 1);
                                     p2Score = Saves.getPlayerScore(choiceSave, 2);
                                     p2Tiles = Saves.getPlayerTiles(choiceSave, 2);
-                                    isHard = Saves.getDifficulty(choiceSave);
+                                    difficulty = Saves.getDifficulty(choiceSave);
 
                                     System.out.printf("%nLoading \"%s\" on difficulty: %s%n", choiceSave,
-                                            (isHard ? "Hard" : "Easy"));
+                                            DIFFICULTIES[difficulty]);
 
-                                    runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, isHard);
+                                    runGame(board, p1Score, p1Tiles, p2Score, p2Tiles, difficulty);
                                 }
                                 // Could not read file
                                 catch (IOException e) {
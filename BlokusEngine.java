@@ -0,0 +1,381 @@
+import java.nio.file.Paths;
+
+/*
+ * Program name: BlokusEngine
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for one game of Blokus Duo without any input or
+ * output. It holds the position and both players' legal moves, plays moves,
+ * reports the scores and the end of the game, and asks the bot of the chosen
+ * difficulty for a move for either player. The console game is one client of
+ * it; games can also be played out with no terminal, such as bot against bot.
+ */
+
+public class BlokusEngine {
+    // Time the expert and master bots may think for each move, in milliseconds
+    private static final long EXPERT_TIME = 200;
+    private static final long MASTER_TIME = 1000;
+
+    // Time the expert and master bots may spend solving the endgame exactly
+    private static final long SOLVE_TIME = 100;
+
+    // Opening moves for the expert and master bots, built by OpeningBook
+    private static final String BOOK_FILE = "./opening.book";
+
+    // The hard bot weighs piece size above any difference in mobility
+    private static final int HARD_POINT_WEIGHT = 1000;
+
+    // Shared by every game, since it is only read; opened when first needed
+    private static OpeningBook book;
+
+    private final GameState state;
+    private final MoveCache[] moves = new MoveCache[2];
+    private final int difficulty;
+
+    // Bots, created when first needed
+    private AlphaBeta searcher;
+    private MonteCarlo treeSearcher;
+    private EndgameSolver solver;
+    private MobilityEstimator estimator;
+
+    /*
+     * Method name: BlokusEngine
+     * Parameters: int difficulty - The difficulty of the bot; BlokusDuo.EASY,
+     * HARD, EXPERT or MASTER
+     * Description: Constructor method for a new game.
+     */
+    public BlokusEngine(int difficulty) {
+        this(new GameState(), difficulty);
+    }
+
+    /*
+     * Method name: BlokusEngine
+     * Parameters: GameState position - The position to continue from; it is
+     * not copied and should not be changed by the caller afterwards
+     * int difficulty - The difficulty of the bot
+     * Description: Constructor method for a game already in progress, such as
+     * a loaded save.
+     */
+    public BlokusEngine(GameState position, int difficulty) {
+        state = position;
+        this.difficulty = difficulty;
+
+        // Generate the legal moves of both players once
+        for (int p = 0; p < 2; p++) {
+            moves[p] = new MoveCache(p);
+            moves[p].rebuild(state.getBits(), state.getPieces(p));
+        }
+    }
+
+    /*
+     * Method name: getBits()
+     * Return type: BitBoard - The game board; it should not be changed
+     * Description: Accessor method for the board of the position.
+     */
+    public BitBoard getBits() {
+        return state.getBits();
+    }
+
+    /*
+     * Method name: getDifficulty()
+     * Return type: int - The difficulty of the bot
+     * Description: Accessor method for the difficulty attribute.
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /*
+     * Method name: getSideToMove()
+     * Return type: int - The index of the player to move
+     * Description: Accessor method for the player to move.
+     */
+    public int getSideToMove() {
+        return state.getSideToMove();
+    }
+
+    /*
+     * Method name: getScore
+     * Parameters: int p - The player index
+     * Return type: int - The number of squares the player has covered
+     * Description: Accessor method for the score of a player.
+     */
+    public int getScore(int p) {
+        return state.getScore(p);
+    }
+
+    /*
+     * Method name: getPieces
+     * Parameters: int p - The player index
+     * Return type: int - Bit mask of the piece ids the player has not used
+     * Description: Accessor method for the inventory of a player.
+     */
+    public int getPieces(int p) {
+        return state.getPieces(p);
+    }
+
+    /*
+     * Method name: getMoves
+     * Parameters: int p - The player index
+     * MoveList list - The list to write the packed moves to; cleared first
+     * Return type: int - The number of legal moves of the player
+     * Description: Lists the legal moves of a player.
+     */
+    public int getMoves(int p, MoveList list) {
+        list.clear();
+        for (int i = 0; i < moves[p].size(); i++) {
+            list.add(moves[p].get(i));
+        }
+
+        return list.size();
+    }
+
+    /*
+     * Method name: canMove
+     * Parameters: int p - The player index
+     * Return type: boolean - Whether or not the player has a legal move
+     * Description: Checks if a player can place a tile.
+     */
+    public boolean canMove(int p) {
+        return moves[p].size() > 0;
+    }
+
+    /*
+     * Method name: placeablePieces
+     * Parameters: int p - The player index
+     * Return type: int - Bit mask of the piece ids the player can place
+     * Description: Finds the pieces with at least one legal move.
+     */
+    public int placeablePieces(int p) {
+        // Declare variables
+        int placeable = 0;
+
+        for (int i = 0; i < moves[p].size(); i++) {
+            placeable |= 1 << Move.pieceId(moves[p].get(i));
+        }
+
+        return placeable;
+    }
+
+    /*
+     * Method name: isLegal
+     * Parameters: int move - The packed move, or Move.PASS
+     * Return type: boolean - Whether or not the player to move may play it
+     * Description: Checks a move against the legal moves of the player to move.
+     * Passing is only allowed with no legal moves. Values that do not decode to
+     * a placement on the board are rejected before the cache is read.
+     */
+    public boolean isLegal(int move) {
+        // Declare variables
+        MoveCache legal = moves[state.getSideToMove()];
+
+        if (move == Move.PASS) {
+            return legal.size() == 0;
+        }
+
+        // Every field must be in range
+        if (move < 0 || Move.pieceId(move) >= PieceTable.PIECES || Move.orientationId(move) >= PieceTable.size()
+                || Move.row(move) >= BlokusDuo.BOARD_SIZE || Move.col(move) >= BlokusDuo.BOARD_SIZE) {
+            return false;
+        }
+
+        return legal.contains(move);
+    }
+
+    /*
+     * Method name: play
+     * Parameters: int move - The packed move, or Move.PASS
+     * Return type: boolean - Whether or not the move was legal and played
+     * Description: Plays a move for the player to move and updates both
+     * players' legal moves from the placed squares. Illegal moves are ignored.
+     */
+    public boolean play(int move) {
+        // Declare variables
+        int p = state.getSideToMove();
+
+        if (!isLegal(move)) {
+            return false;
+        }
+
+        state.makeMove(move);
+        if (move != Move.PASS) {
+            moves[BitBoard.P1_INDEX].update(state.getBits(), p, move);
+            moves[BitBoard.P2_INDEX].update(state.getBits(), p, move);
+        }
+
+        return true;
+    }
+
+    /*
+     * Method name: isGameOver
+     * Return type: boolean - Whether or not neither player can move
+     * Description: Checks if the game has ended.
+     */
+    public boolean isGameOver() {
+        return !canMove(BitBoard.P1_INDEX) && !canMove(BitBoard.P2_INDEX);
+    }
+
+    /*
+     * Method name: findMove
+     * Return type: int - The packed move the bot chooses for the player to
+     * move, or Move.PASS if there are no legal moves
+     * Description: Asks the bot of the game's difficulty for a move. The move is
+     * not played. Time spent on a failed endgame solve comes out of the
+     * search's time, so a move never takes longer than the bot's limit.
+     */
+    public int findMove() {
+        // Declare variables
+        MoveCache legal = moves[state.getSideToMove()];
+        long start = System.nanoTime();
+        int move;
+
+        if (legal.size() == 0) {
+            return Move.PASS;
+        }
+
+        // Expert mode: Search ahead for the best move in the time given
+        if (difficulty == BlokusDuo.EXPERT) {
+            move = bookMove();
+            if (move == Move.NONE) {
+                move = solveEndgame();
+            }
+            if (move == EndgameSolver.UNSOLVED) {
+                if (searcher == null) {
+                    searcher = new AlphaBeta();
+                }
+                move = searcher.findMove(state, timeLeft(EXPERT_TIME, start));
+            }
+        }
+        // Master mode: Play out many random games from each move on every core
+        else if (difficulty == BlokusDuo.MASTER) {
+            move = bookMove();
+            if (move == Move.NONE) {
+                move = solveEndgame();
+            }
+            if (move == EndgameSolver.UNSOLVED) {
+                if (treeSearcher == null) {
+                    treeSearcher = new MonteCarlo();
+                }
+                move = treeSearcher.findMove(state, timeLeft(MASTER_TIME, start));
+            }
+        }
+        // Hard mode: Choose the largest piece that leaves the most room
+        else if (difficulty == BlokusDuo.HARD) {
+            move = hardMove(legal);
+        }
+        // Easy mode: Choose random piece
+        else {
+            move = legal.get((int) (Math.random() * legal.size()));
+        }
+
+        return move;
+    }
+
+    /*
+     * Method name: startPondering
+     * Description: Lets the master bot think on the position while the other
+     * player chooses a move. Does nothing for the other bots.
+     */
+    public void startPondering() {
+        if (difficulty == BlokusDuo.MASTER) {
+            if (treeSearcher == null) {
+                treeSearcher = new MonteCarlo();
+            }
+            treeSearcher.startPondering(state);
+        }
+    }
+
+    /*
+     * Method name: stopPondering
+     * Description: Stops the master bot thinking in the background. Must be
+     * called before the next move is played.
+     */
+    public void stopPondering() {
+        if (treeSearcher != null) {
+            treeSearcher.stopPondering();
+        }
+    }
+
+    /*
+     * Method name: hardMove
+     * Parameters: MoveCache legal - The legal moves of the player to move
+     * Return type: int - The chosen packed move
+     * Description: Chooses the largest piece, breaking ties by the estimated
+     * mobility of each player after the move.
+     */
+    private int hardMove(MoveCache legal) {
+        // Declare variables
+        int p = state.getSideToMove(), bestMove = Move.NONE, bestScore = Integer.MIN_VALUE, move, score;
+
+        if (estimator == null) {
+            estimator = new MobilityEstimator();
+        }
+
+        for (int i = 0; i < legal.size(); i++) {
+            move = legal.get(i);
+
+            state.makeMove(move);
+            score = Move.points(move) * HARD_POINT_WEIGHT
+                    + estimator.estimate(state.getBits(), p, state.getPieces(p))
+                    - estimator.estimate(state.getBits(), 1 - p, state.getPieces(1 - p));
+            state.unmakeMove();
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+        }
+
+        return bestMove;
+    }
+
+    /*
+     * Method name: bookMove
+     * Return type: int - The book's packed move, or Move.NONE if the position is
+     * not in the opening book
+     * Description: Looks up the position in the opening book.
+     */
+    private int bookMove() {
+        return openBook().probe(state);
+    }
+
+    /*
+     * Method name: openBook
+     * Return type: OpeningBook - The opening book, or an empty book if there is
+     * no book file
+     * Description: Opens the book the first time it is needed by any game.
+     */
+    private static synchronized OpeningBook openBook() {
+        if (book == null) {
+            book = OpeningBook.load(Paths.get(BOOK_FILE));
+        }
+
+        return book;
+    }
+
+    /*
+     * Method name: timeLeft
+     * Parameters: long limit - The time the bot may think for, in milliseconds
+     * long start - The System.nanoTime() at which the bot started thinking
+     * Return type: long - The time left of the limit, in milliseconds; at least
+     * one so the search always returns a move
+     * Description: Works out how long the search may still run.
+     */
+    private static long timeLeft(long limit, long start) {
+        return Math.max(1, limit - (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * Method name: solveEndgame
+     * Return type: int - The perfect packed move, or EndgameSolver.UNSOLVED if
+     * the game is not near its end or could not be solved in time
+     * Description: Tries to solve the rest of the game exactly.
+     */
+    private int solveEndgame() {
+        if (solver == null) {
+            solver = new EndgameSolver();
+        }
+
+        return solver.isEndgame(state) ? solver.solve(state, SOLVE_TIME) : EndgameSolver.UNSOLVED;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Program name: EndgameSolver
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class that searches the rest of the game to the end
+ * once few moves are left, and finds the move with the best final score
+ * difference under perfect play. Uses fail-soft alpha-beta, so every result
+ * is a true bound even outside the window, and its own transposition table.
+ * Once the squares each player can still reach no longer overlap, the
+ * players cannot affect each other any more, so each one's best packing is
+ * found on its own, one region at a time.
+ */
+
+public class EndgameSolver {
+    // Combined legal moves of both players below which the game is solved
+    public static final int THRESHOLD = 48;
+
+    // Returned by solve when the search did not finish in time
+    public static final int UNSOLVED = Integer.MIN_VALUE;
+
+    // Larger than any score difference
+    private static final int INFINITY = 1000;
+
+    // Nodes searched between clock checks; must be a power of two. A node can
+    // take 100 microseconds early in the game, so the clock is read often
+    // enough to stop within a few milliseconds of the deadline
+    private static final int CHECK_INTERVAL = 32;
+
+    // Log2 of the number of transposition table entries
+    private static final int TABLE_BITS = 18;
+
+    // Exact results are stored at the greatest depth so they are kept longest
+    private static final int SOLVED_DEPTH = 255;
+
+    // Points of every set of pieces, indexed by bit mask
+    private static final byte[] MASK_POINTS = new byte[1 << PieceTable.PIECES];
+
+    static {
+        for (int mask = 1; mask < MASK_POINTS.length; mask++) {
+            MASK_POINTS[mask] = (byte) (MASK_POINTS[mask & (mask - 1)]
+                    + PieceTable.getPoints(Integer.numberOfTrailingZeros(mask)));
+        }
+    }
+
+    private final TranspositionTable table = new HeapTable(TABLE_BITS);
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveList count = new MoveList();
+    private final Regions regions = new Regions();
+
+    // Move lists per search ply, created when first reached
+    private final MoveList[] lists = new MoveList[GameState.MAX_PLIES + 1];
+
+    // Scratch buffers for ordering moves
+    private final int[] sorted = new int[MoveGenerator.MAX_PLACEMENTS];
+    private final int[] starts = new int[AlphaBeta.ORDER_BUCKETS];
+
+    // Corners inside the current region, per search ply
+    private final long[][] regionCorners = new long[GameState.MAX_PLIES + 1][BitBoard.WORDS];
+
+    // Search state
+    private GameState state;
+    private long deadline;
+    private boolean stopped;
+    private long nodes;
+    private int score;
+
+    /*
+     * Method name: getNodes()
+     * Return type: long - The number of positions visited by the last solve
+     * Description: Accessor method for the nodes attribute.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /*
+     * Method name: getScore()
+     * Return type: int - The final score difference for the player to move
+     * under perfect play, found by the last solve; also set when the player
+     * had to pass, and left unchanged when the solve ran out of time
+     * Description: Accessor method for the score attribute.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /*
+     * Method name: isEndgame
+     * Parameters: GameState position - The position to check
+     * Return type: boolean - Whether or not the position is small enough to solve
+     * Description: Counts the legal moves of both players.
+     */
+    public boolean isEndgame(GameState position) {
+        // Declare variables
+        BitBoard bits = position.getBits();
+        int total = 0;
+
+        for (int p = 0; p < 2; p++) {
+            total += generator.generate(bits, p, position.getPieces(p), count);
+        }
+
+        return total < THRESHOLD;
+    }
+
+    /*
+     * Method name: solve
+     * Parameters: GameState position - The position to solve; it is not changed
+     * long timeLimit - The time to search for in milliseconds
+     * Return type: int - The best packed move, Move.PASS if there are no legal
+     * moves, or UNSOLVED if the time ran out
+     * Description: Finds the move with the best final score difference.
+     */
+    public int solve(GameState position, long timeLimit) {
+        // Declare variables
+        MoveList moves = listAt(0);
+        int best = -INFINITY, bestMove = Move.PASS, result;
+
+        state = new GameState(position);
+        deadline = System.nanoTime() + timeLimit * 1_000_000L;
+        stopped = false;
+        nodes = 0;
+        table.newSearch();
+
+        // Pass, and score the rest of the game with the opponent to move
+        if (state.generateMoves(generator, moves) == 0) {
+            state.makeMove(Move.PASS);
+            result = -search(-INFINITY, INFINITY, 1);
+            state.unmakeMove();
+
+            if (stopped) {
+                return UNSOLVED;
+            }
+            score = result;
+            return Move.PASS;
+        }
+        AlphaBeta.order(moves, Symmetry.move(state.getSymmetry(),
+                TranspositionTable.move(table.probe(state.getCanonicalHash()))), sorted, starts);
+
+        for (int i = 0; i < moves.size(); i++) {
+            state.makeMove(moves.get(i));
+            result = -search(-INFINITY, -best, 1);
+            state.unmakeMove();
+
+            if (stopped) {
+                return UNSOLVED;
+            }
+            if (result > best) {
+                best = result;
+                bestMove = moves.get(i);
+            }
+        }
+
+        score = best;
+        table.store(state.getCanonicalHash(), Symmetry.move(state.getSymmetry(), bestMove), best, SOLVED_DEPTH,
+                TranspositionTable.EXACT);
+        return bestMove;
+    }
+
+    /*
+     * Method name: search
+     * Parameters: int alpha - The lowest score the player to move is guaranteed
+     * int beta - The highest score the opponent allows
+     * int ply - The distance from the root
+     * Return type: int - The final score difference for the player to move, or a
+     * bound on it if outside the window
+     * Description: Fail-soft negamax search to the end of the game.
+     */
+    private int search(int alpha, int beta, int ply) {
+        // Declare variables
+        int p = state.getSideToMove(), diff = state.scoreDifference(p);
+        int alphaStart, ttMove = Move.NONE, best = -INFINITY, bestMove = Move.NONE, result, bound;
+        int symmetry = state.getSymmetry();
+        long key = state.getCanonicalHash(), entry;
+        MoveList moves;
+
+        // Check the clock now and then
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        // The result cannot beat placing every piece left, or lose more than the
+        // opponent placing every piece left
+        if (diff + MASK_POINTS[state.getPieces(p)] <= alpha) {
+            return diff + MASK_POINTS[state.getPieces(p)];
+        }
+        if (diff - MASK_POINTS[state.getPieces(1 - p)] >= beta) {
+            return diff - MASK_POINTS[state.getPieces(1 - p)];
+        }
+
+        // Use stored results of this position or a mirror image of it
+        entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            ttMove = Symmetry.move(symmetry, TranspositionTable.move(entry));
+            result = TranspositionTable.score(entry);
+            switch (TranspositionTable.bound(entry)) {
+                case TranspositionTable.EXACT:
+                    return result;
+                case TranspositionTable.LOWER:
+                    alpha = Math.max(alpha, result);
+                    break;
+                case TranspositionTable.UPPER:
+                    beta = Math.min(beta, result);
+                    break;
+            }
+            if (alpha >= beta) {
+                return result;
+            }
+        }
+        alphaStart = alpha;
+
+        // Once the players can no longer reach each other, each one just packs
+        // their own regions
+        if (regions.isApart(state.getBits())) {
+            regions.compute(state.getBits());
+
+            result = diff + packing(p, regions.first(p), ply);
+            state.makeMove(Move.PASS);
+            result -= packing(1 - p, regions.first(1 - p), ply + 1);
+            state.unmakeMove();
+
+            if (!stopped) {
+                table.store(key, Move.NONE, result, SOLVED_DEPTH, TranspositionTable.EXACT);
+            }
+            return result;
+        }
+
+        moves = listAt(ply);
+        if (state.generateMoves(generator, moves) == 0) {
+            // Opponent passed last turn too: the game is over
+            if (state.getPasses() >= 1) {
+                return diff;
+            }
+
+            // Pass and let the opponent continue
+            state.makeMove(Move.PASS);
+            result = -search(-beta, -alpha, ply + 1);
+            state.unmakeMove();
+            return result;
+        }
+
+        AlphaBeta.order(moves, ttMove, sorted, starts);
+        for (int i = 0; i < moves.size(); i++) {
+            state.makeMove(moves.get(i));
+            result = -search(-beta, -Math.max(alpha, best), ply + 1);
+            state.unmakeMove();
+
+            if (stopped) {
+                return 0;
+            }
+            if (result > best) {
+                best = result;
+                bestMove = moves.get(i);
+                if (best >= beta) {
+                    break;
+                }
+            }
+        }
+
+        // Store the result with the kind of bound it is
+        if (best <= alphaStart) {
+            bound = TranspositionTable.UPPER;
+        } else if (best >= beta) {
+            bound = TranspositionTable.LOWER;
+        } else {
+            bound = TranspositionTable.EXACT;
+        }
+        table.store(key, Symmetry.move(symmetry, bestMove), best, SOLVED_DEPTH, bound);
+
+        return best;
+    }
+
+    /*
+     * Method name: packing
+     * Parameters: int p - The player index; must be the player to move
+     * int i - The index of the first region to place tiles in
+     * int ply - The distance from the root
+     * Return type: int - The most points the player can still place in the
+     * region and the regions after it
+     * Description: Searches one player's placements with the opponent passing.
+     * Regions are filled in order: at each step the player either places a
+     * tile in the current region or leaves it for good, so placements in
+     * different regions are never tried in more than one order. Regions share
+     * the player's pieces, so they are solved as a chain rather than
+     * separately, and each result is cached by the squares of the regions left
+     * and the pieces left.
+     */
+    private int packing(int p, int i, int ply) {
+        // Declare variables
+        BitBoard bits = state.getBits();
+        int pieces = state.getPieces(p), best, bestMove = Move.NONE, result;
+        long[] corners = regionCorners[ply], mask;
+        long key, entry;
+        MoveList moves;
+
+        // Check the clock now and then
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+            stopped = true;
+        }
+        if (stopped) {
+            return 0;
+        }
+
+        if (i == regions.end(p) || pieces == 0) {
+            return 0;
+        }
+
+        // Use the stored result of these regions and pieces
+        key = regions.key(bits, p, pieces, i);
+        entry = table.probe(key);
+        if (entry != TranspositionTable.MISS) {
+            return TranspositionTable.score(entry);
+        }
+
+        // Leave this region
+        best = packing(p, i + 1, ply);
+        if (stopped) {
+            return 0;
+        }
+
+        // Or place a tile in it, unless the pieces left are already all placed
+        if (best < MASK_POINTS[pieces]) {
+            mask = regions.getMask(i);
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                corners[w] = bits.getCorners(p)[w] & mask[w];
+            }
+
+            moves = listAt(ply);
+            generator.generate(bits, p, pieces, corners, moves);
+            for (int j = 0; j < moves.size() && best < MASK_POINTS[pieces]; j++) {
+                state.makeMove(moves.get(j));
+                state.makeMove(Move.PASS);
+                result = Move.orientation(moves.get(j)).getSize() + packing(p, i, ply + 2);
+                state.unmakeMove();
+                state.unmakeMove();
+
+                if (stopped) {
+                    return 0;
+                }
+                if (result > best) {
+                    best = result;
+                    bestMove = moves.get(j);
+                }
+            }
+        }
+
+        // A result cut short by the clock is not exact
+        if (stopped) {
+            return 0;
+        }
+        table.store(key, bestMove, best, SOLVED_DEPTH, TranspositionTable.EXACT);
+        return best;
+    }
+
+    /*
+     * Method name: listAt
+     * Parameters: int ply - The distance from the root
+     * Return type: MoveList - The move list for the ply
+     * Description: Returns the move list of a ply, creating it if needed.
+     */
+    private MoveList listAt(int ply) {
+        if (lists[ply] == null) {
+            lists[ply] = new MoveList();
+        }
+        return lists[ply];
+    }
+}
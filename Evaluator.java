@@ -0,0 +1,42 @@
+/*
+ * Program name: Evaluator
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Interface for the evaluation used by the search. An evaluator
+ * is attached to one GameState, which reports every move made and taken back,
+ * so the evaluator can keep its features up to date one move at a time and
+ * score a position without scanning the board.
+ */
+
+public interface Evaluator {
+    /*
+     * Method name: reset
+     * Parameters: GameState state - The position the evaluator is attached to
+     * Description: Calculates every feature from scratch.
+     */
+    void reset(GameState state);
+
+    /*
+     * Method name: moveMade
+     * Parameters: GameState state - The position, after the move
+     * int move - The packed move that was made, or Move.PASS
+     * Description: Updates the features after a move.
+     */
+    void moveMade(GameState state, int move);
+
+    /*
+     * Method name: moveUnmade
+     * Parameters: GameState state - The position, after the move was taken back
+     * int move - The packed move that was taken back, or Move.PASS
+     * Description: Restores the features from before a move.
+     */
+    void moveUnmade(GameState state, int move);
+
+    /*
+     * Method name: evaluate
+     * Parameters: GameState state - The position
+     * Return type: int - The estimated score for the player to move
+     * Description: Scores a position from the current features.
+     */
+    int evaluate(GameState state);
+}
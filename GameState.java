@@ -0,0 +1,348 @@
+import java.util.*;
+
+/*
+ * Program name: GameState
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a complete game position: the bitboard, the
+ * unused pieces and score of each player, and the player to move. Moves are
+ * applied with makeMove and taken back with unmakeMove, which restores the
+ * position from a small undo record instead of copying it.
+ */
+
+public class GameState {
+    // Longest possible game: every piece placed, each followed by a pass
+    public static final int MAX_PLIES = 2 * 2 * PieceTable.PIECES + 2;
+
+    // Every piece unused
+    public static final int ALL_PIECES = (1 << PieceTable.PIECES) - 1;
+
+    private final BitBoard bits;
+    private final int[] pieces = new int[2];
+    private final int[] scores = new int[2];
+    private int sideToMove;
+    private int passes;
+
+    // Key of the position under each symmetry transform
+    private final long[] hashes = new long[Symmetry.COUNT];
+
+    // Undo records
+    private final long[] savedMasks = new long[MAX_PLIES * BitBoard.SAVED_WORDS];
+    private final int[] movesPlayed = new int[MAX_PLIES];
+    private final int[] savedPasses = new int[MAX_PLIES];
+    private int ply;
+
+    // Scratch mask of the tile being placed or removed
+    private final long[] tileMask = new long[BitBoard.WORDS];
+
+    // Told about every move, or null
+    private Evaluator evaluator;
+
+    /*
+     * Method name: GameState
+     * Description: Constructor method for a new game with player 1 to move.
+     */
+    public GameState() {
+        bits = new BitBoard();
+        pieces[BitBoard.P1_INDEX] = ALL_PIECES;
+        pieces[BitBoard.P2_INDEX] = ALL_PIECES;
+        sideToMove = BitBoard.P1_INDEX;
+        rehash();
+    }
+
+    /*
+     * Method name: GameState
+     * Parameters: GameState other - The position to copy
+     * Description: Copy constructor. The undo history is not copied, so the copy
+     * cannot unmake moves made before it was created.
+     */
+    public GameState(GameState other) {
+        bits = new BitBoard(other.bits);
+        pieces[0] = other.pieces[0];
+        pieces[1] = other.pieces[1];
+        scores[0] = other.scores[0];
+        scores[1] = other.scores[1];
+        sideToMove = other.sideToMove;
+        passes = other.passes;
+        System.arraycopy(other.hashes, 0, hashes, 0, Symmetry.COUNT);
+    }
+
+    /*
+     * Method name: GameState
+     * Parameters: BitBoard bits - The game board
+     * int p1Pieces, int p2Pieces - Bit masks of each player's unused pieces
+     * int p1Score, int p2Score - The score of each player
+     * int sideToMove - The index of the player to move
+     * Description: Constructor method for an existing position.
+     */
+    public GameState(BitBoard bits, int p1Pieces, int p2Pieces, int p1Score, int p2Score, int sideToMove) {
+        this.bits = bits;
+        pieces[BitBoard.P1_INDEX] = p1Pieces;
+        pieces[BitBoard.P2_INDEX] = p2Pieces;
+        scores[BitBoard.P1_INDEX] = p1Score;
+        scores[BitBoard.P2_INDEX] = p2Score;
+        this.sideToMove = sideToMove;
+        rehash();
+    }
+
+    /*
+     * Method name: fromBoard
+     * Parameters: char[][] board - The game board
+     * int p1Score - Score of the first player
+     * Map<String, Tile> p1Tiles - Tiles used by first player
+     * int p2Score - Score of the second player
+     * Map<String, Tile> p2Tiles - Tiles used by the second player
+     * Return type: GameState - The position with player 1 to move
+     * Description: Builds a position from the console game variables.
+     */
+    public static GameState fromBoard(char[][] board, int p1Score, Map<String, Tile> p1Tiles, int p2Score,
+            Map<String, Tile> p2Tiles) {
+        return new GameState(BitBoard.fromBoard(board), MoveGenerator.inventoryMask(p1Tiles),
+                MoveGenerator.inventoryMask(p2Tiles), p1Score, p2Score, BitBoard.P1_INDEX);
+    }
+
+    /*
+     * Method name: getBits()
+     * Return type: BitBoard - The game board
+     * Description: Accessor method for the bits attribute.
+     */
+    public BitBoard getBits() {
+        return bits;
+    }
+
+    /*
+     * Method name: getPieces()
+     * Parameters: int p - The player index
+     * Return type: int - Bit mask of the player's unused pieces
+     * Description: Accessor method for the pieces attribute.
+     */
+    public int getPieces(int p) {
+        return pieces[p];
+    }
+
+    /*
+     * Method name: getScore()
+     * Parameters: int p - The player index
+     * Return type: int - The score of the player
+     * Description: Accessor method for the scores attribute.
+     */
+    public int getScore(int p) {
+        return scores[p];
+    }
+
+    /*
+     * Method name: getSideToMove()
+     * Return type: int - The index of the player to move
+     * Description: Accessor method for the sideToMove attribute.
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /*
+     * Method name: getPasses()
+     * Return type: int - The number of passes in a row before this position
+     * Description: Accessor method for the passes attribute.
+     */
+    public int getPasses() {
+        return passes;
+    }
+
+    /*
+     * Method name: getHash()
+     * Return type: long - The Zobrist key of the position
+     * Description: Accessor method for the hashes attribute.
+     */
+    public long getHash() {
+        return hashes[Symmetry.IDENTITY];
+    }
+
+    /*
+     * Method name: getSymmetry()
+     * Return type: int - The transform that gives the position's smallest key
+     * Description: Finds the transform to store the position under, so that
+     * every mirror image of a position shares one entry.
+     */
+    public int getSymmetry() {
+        // Declare variables
+        int best = Symmetry.IDENTITY;
+
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            if (hashes[t] < hashes[best]) {
+                best = t;
+            }
+        }
+
+        return best;
+    }
+
+    /*
+     * Method name: getCanonicalHash()
+     * Return type: long - The smallest key of the position's mirror images
+     * Description: Looks up the key shared by every mirror image of the
+     * position. Moves stored under it must be mapped through getSymmetry().
+     */
+    public long getCanonicalHash() {
+        return hashes[getSymmetry()];
+    }
+
+    /*
+     * Method name: getPly()
+     * Return type: int - The number of moves that can be unmade
+     * Description: Accessor method for the ply attribute.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /*
+     * Method name: lastMove()
+     * Return type: int - The last move made, or Move.NONE if there is none
+     * Description: Looks up the top of the undo stack.
+     */
+    public int lastMove() {
+        return ply == 0 ? Move.NONE : movesPlayed[ply - 1];
+    }
+
+    /*
+     * Method name: setEvaluator
+     * Parameters: Evaluator evaluator - The evaluator to tell about every move,
+     * or null for none
+     * Description: Attaches an evaluator to the position and lets it calculate
+     * its features. Copies of the position do not share it.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+        if (evaluator != null) {
+            evaluator.reset(this);
+        }
+    }
+
+    /*
+     * Method name: generateMoves
+     * Parameters: MoveGenerator generator - The generator to use
+     * MoveList moves - The list to write the legal moves of the side to move to
+     * Return type: int - The number of legal moves
+     * Description: Lists the legal moves of the player to move.
+     */
+    public int generateMoves(MoveGenerator generator, MoveList moves) {
+        return generator.generate(bits, sideToMove, pieces[sideToMove], moves);
+    }
+
+    /*
+     * Method name: hasAnyMove
+     * Parameters: MoveGenerator generator - The generator to use
+     * int p - The player index
+     * Return type: boolean - Whether or not the player can place a tile
+     * Description: Checks if a player has any legal move.
+     */
+    public boolean hasAnyMove(MoveGenerator generator, int p) {
+        return generator.hasAnyMove(bits, p, pieces[p]);
+    }
+
+    /*
+     * Method name: isGameOver
+     * Parameters: MoveGenerator generator - The generator to use
+     * Return type: boolean - Whether or not neither player can move
+     * Description: Checks if the game has ended.
+     */
+    public boolean isGameOver(MoveGenerator generator) {
+        return passes >= 2 || (!hasAnyMove(generator, sideToMove) && !hasAnyMove(generator, 1 - sideToMove));
+    }
+
+    /*
+     * Method name: scoreDifference
+     * Parameters: int p - The player index
+     * Return type: int - The player's score minus the opponent's score
+     * Description: Compares the scores from one player's point of view.
+     */
+    public int scoreDifference(int p) {
+        return scores[p] - scores[1 - p];
+    }
+
+    /*
+     * Method name: rehash
+     * Description: Calculates the key of every mirror image from scratch.
+     */
+    private void rehash() {
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            hashes[t] = Zobrist.hash(bits, pieces[BitBoard.P1_INDEX], pieces[BitBoard.P2_INDEX], sideToMove, t);
+        }
+    }
+
+    /*
+     * Method name: makeMove
+     * Parameters: int move - The packed move, or Move.PASS. Assumed to be legal.
+     * Description: Plays a move for the player to move and records how to undo it.
+     */
+    public void makeMove(int move) {
+        // Declare variables
+        Orientation o;
+
+        // Record the move
+        movesPlayed[ply] = move;
+        savedPasses[ply] = passes;
+        hashes[Symmetry.IDENTITY] ^= Zobrist.move(sideToMove, move);
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            hashes[t] ^= Zobrist.move(sideToMove, Symmetry.move(t, move));
+        }
+
+        if (move == Move.PASS) {
+            passes++;
+        } else {
+            o = Move.orientation(move);
+
+            // Save masks, then place the tile
+            bits.saveMasks(savedMasks, ply * BitBoard.SAVED_WORDS);
+            BitBoard.tileMask(o.getRowMasks(), o.getRows(), Move.row(move), Move.col(move), tileMask);
+            bits.place(sideToMove, tileMask);
+
+            // Update inventory and score
+            pieces[sideToMove] &= ~(1 << Move.pieceId(move));
+            scores[sideToMove] += o.getSize();
+            passes = 0;
+        }
+
+        ply++;
+        sideToMove = 1 - sideToMove;
+
+        if (evaluator != null) {
+            evaluator.moveMade(this, move);
+        }
+    }
+
+    /*
+     * Method name: unmakeMove
+     * Description: Takes back the last move made.
+     */
+    public void unmakeMove() {
+        // Declare variables
+        int move;
+        Orientation o;
+
+        ply--;
+        sideToMove = 1 - sideToMove;
+        move = movesPlayed[ply];
+        passes = savedPasses[ply];
+        hashes[Symmetry.IDENTITY] ^= Zobrist.move(sideToMove, move);
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            hashes[t] ^= Zobrist.move(sideToMove, Symmetry.move(t, move));
+        }
+
+        if (move != Move.PASS) {
+            o = Move.orientation(move);
+
+            // Remove the tile and restore the masks
+            BitBoard.tileMask(o.getRowMasks(), o.getRows(), Move.row(move), Move.col(move), tileMask);
+            bits.undoPlace(sideToMove, tileMask, savedMasks, ply * BitBoard.SAVED_WORDS);
+
+            // Restore inventory and score
+            pieces[sideToMove] |= 1 << Move.pieceId(move);
+            scores[sideToMove] -= o.getSize();
+        }
+
+        if (evaluator != null) {
+            evaluator.moveUnmade(this, move);
+        }
+    }
+}
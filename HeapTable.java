@@ -0,0 +1,51 @@
+import java.util.*;
+
+/*
+ * Program name: HeapTable
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a transposition table stored in a long array
+ * on the Java heap. Suited to the small tables used in play.
+ */
+
+public class HeapTable extends TranspositionTable {
+    private final long[] slots;
+
+    /*
+     * Method name: HeapTable
+     * Parameters: int sizeBits - The log2 of the number of entries
+     * Description: Constructor method for an empty table.
+     */
+    public HeapTable(int sizeBits) {
+        super(sizeBits);
+        slots = new long[(int) longs(sizeBits)];
+    }
+
+    /*
+     * Method name: read
+     * Parameters: long index - The index of the long
+     * Return type: long - The long at the index
+     * Description: Reads one long of the table.
+     */
+    protected long read(long index) {
+        return slots[(int) index];
+    }
+
+    /*
+     * Method name: write
+     * Parameters: long index - The index of the long
+     * long value - The long to store
+     * Description: Writes one long of the table.
+     */
+    protected void write(long index, long value) {
+        slots[(int) index] = value;
+    }
+
+    /*
+     * Method name: clear
+     * Description: Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+    }
+}
@@ -0,0 +1,308 @@
+import java.util.*;
+
+/*
+ * Program name: IncrementalEvaluator
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for an evaluator that keeps its features up to
+ * date as moves are made. A corner only counts if one of the player's unused
+ * pieces fits on it. Squares only ever fill up and pieces only run out, so a
+ * corner that cannot be used never can again, and a usable corner can only be
+ * lost to a tile within a piece's reach or to its last fitting piece being
+ * used. Only new corners and those usable corners are checked again. Each
+ * usable corner remembers a placement that fits it, which is usually still
+ * legal, and every change is logged so it can be undone. The territory of each
+ * player is kept up to date alongside, and mobility is estimated when a
+ * position is scored.
+ */
+
+public class IncrementalEvaluator implements Evaluator {
+    // Weights of the evaluation
+    private static final int SCORE_WEIGHT = 16;
+    private static final int CORNER_WEIGHT = 3;
+    private static final int TERRITORY_WEIGHT = 1;
+    private static final int MOBILITY_WEIGHT = 2;
+
+    // Pieces of the largest size, which get harder to place as the board fills
+    private static final int LARGE_POINTS = 5;
+    private static final int LARGE_PIECES;
+
+    // Furthest a placement on a corner can reach: a square of the tile, then
+    // the square next to it that the tile makes forbidden
+    private static final int REACH = 5;
+
+    // Masks saved per ply: usable and known corners of each player
+    private static final int SAVED_MASKS = 4;
+
+    static {
+        // Declare variables
+        int large = 0;
+
+        for (int pieceId = 0; pieceId < PieceTable.PIECES; pieceId++) {
+            if (PieceTable.getPoints(pieceId) == LARGE_POINTS) {
+                large |= 1 << pieceId;
+            }
+        }
+        LARGE_PIECES = large;
+    }
+
+    private final MoveGenerator generator = new MoveGenerator();
+    private final Territory territory = new Territory();
+    private final MobilityEstimator mobility = new MobilityEstimator();
+
+    // Corners of each player that an unused piece fits on, and their counts
+    private final long[][] usable = new long[2][BitBoard.WORDS];
+    private final int[] usableCount = new int[2];
+
+    // Corners of each player as of the last update
+    private final long[][] known = new long[2][BitBoard.WORDS];
+
+    // A legal move on each usable corner, per player
+    private final int[][] witnesses = new int[2][BitBoard.CELLS];
+
+    // Saved masks per ply, then the log of witness changes and where each
+    // ply's changes start
+    private final long[] savedMasks = new long[GameState.MAX_PLIES * SAVED_MASKS * BitBoard.WORDS];
+    private final long[] log = new long[GameState.MAX_PLIES * 2 * BitBoard.CELLS];
+    private final int[] logStarts = new int[GameState.MAX_PLIES];
+    private int logSize;
+    private int ply;
+
+    // Scratch masks
+    private final long[] window = new long[BitBoard.WORDS];
+    private final long[] check = new long[BitBoard.WORDS];
+
+    /*
+     * Method name: reset
+     * Parameters: GameState state - The position the evaluator is attached to
+     * Description: Checks every corner of both players.
+     */
+    public void reset(GameState state) {
+        ply = 0;
+
+        for (int p = 0; p < 2; p++) {
+            Arrays.fill(usable[p], 0);
+            Arrays.fill(witnesses[p], Move.NONE);
+            System.arraycopy(state.getBits().getCorners(p), 0, known[p], 0, BitBoard.WORDS);
+            recheck(state, p, known[p]);
+            usableCount[p] = BitBoard.bitCount(usable[p]);
+        }
+
+        territory.compute(state.getBits());
+
+        // Nothing before this position can be undone
+        logSize = 0;
+    }
+
+    /*
+     * Method name: moveMade
+     * Parameters: GameState state - The position, after the move
+     * int move - The packed move that was made, or Move.PASS
+     * Description: Saves the features, then checks the new corners, the usable
+     * corners near the new tile and the mover's corners that relied on the
+     * piece just used.
+     */
+    public void moveMade(GameState state, int move) {
+        // Declare variables
+        int mover = 1 - state.getSideToMove(), pieceId;
+        long[] corners;
+        long lost;
+        Orientation o;
+
+        // Save the features
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(usable[p], 0, savedMasks, (ply * SAVED_MASKS + p) * BitBoard.WORDS, BitBoard.WORDS);
+            System.arraycopy(known[p], 0, savedMasks, (ply * SAVED_MASKS + 2 + p) * BitBoard.WORDS,
+                    BitBoard.WORDS);
+        }
+        logStarts[ply++] = logSize;
+        territory.moveMade(state.getBits(), move);
+
+        if (move == Move.PASS) {
+            return;
+        }
+
+        o = Move.orientation(move);
+        pieceId = Move.pieceId(move);
+        buildWindow(Move.row(move), Move.col(move), o.getRows(), o.getCols());
+
+        for (int p = 0; p < 2; p++) {
+            corners = state.getBits().getCorners(p);
+
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                check[w] = corners[w] & (~known[p][w] | (usable[p][w] & window[w]));
+
+                // Corners that only the used piece was known to fit
+                if (p == mover) {
+                    lost = usable[p][w] & ~window[w];
+                    while (lost != 0) {
+                        if (Move.pieceId(witnesses[p][(w << 6) + Long.numberOfTrailingZeros(lost)]) == pieceId) {
+                            check[w] |= lost & -lost;
+                        }
+                        lost &= lost - 1;
+                    }
+                }
+
+                usable[p][w] &= corners[w] & ~check[w];
+                known[p][w] = corners[w];
+            }
+
+            recheck(state, p, check);
+            usableCount[p] = BitBoard.bitCount(usable[p]);
+        }
+    }
+
+    /*
+     * Method name: moveUnmade
+     * Parameters: GameState state - The position, after the move was taken back
+     * int move - The packed move that was taken back, or Move.PASS
+     * Description: Restores the saved features and undoes the logged witness
+     * changes.
+     */
+    public void moveUnmade(GameState state, int move) {
+        // Declare variables
+        long entry;
+
+        ply--;
+        territory.moveUnmade(state.getBits(), move);
+        for (int p = 0; p < 2; p++) {
+            System.arraycopy(savedMasks, (ply * SAVED_MASKS + p) * BitBoard.WORDS, usable[p], 0, BitBoard.WORDS);
+            System.arraycopy(savedMasks, (ply * SAVED_MASKS + 2 + p) * BitBoard.WORDS, known[p], 0,
+                    BitBoard.WORDS);
+            usableCount[p] = BitBoard.bitCount(usable[p]);
+        }
+
+        // Undo the witness changes, newest first
+        while (logSize > logStarts[ply]) {
+            entry = log[--logSize];
+            witnesses[(int) (entry >>> 40)][(int) (entry >>> 32) & 0xFF] = (int) entry;
+        }
+    }
+
+    /*
+     * Method name: evaluate
+     * Parameters: GameState state - The position
+     * Return type: int - The estimated score for the player to move
+     * Description: Scores a position by points placed, usable corners,
+     * territory and estimated mobility.
+     */
+    public int evaluate(GameState state) {
+        // Declare variables
+        int p = state.getSideToMove();
+        BitBoard bits = state.getBits();
+
+        return SCORE_WEIGHT * state.scoreDifference(p) + CORNER_WEIGHT * (usableCount[p] - usableCount[1 - p])
+                + TERRITORY_WEIGHT * (territory.exclusive(p) - territory.exclusive(1 - p))
+                + MOBILITY_WEIGHT * (mobility.estimate(bits, p, state.getPieces(p))
+                        - mobility.estimate(bits, 1 - p, state.getPieces(1 - p)));
+    }
+
+    /*
+     * Method name: getUsableCount
+     * Parameters: int p - The player index
+     * Return type: int - The number of corners an unused piece of the player
+     * fits on
+     * Description: Accessor method for the usableCount attribute.
+     */
+    public int getUsableCount(int p) {
+        return usableCount[p];
+    }
+
+    /*
+     * Method name: getTerritory
+     * Return type: Territory - The squares each player can reach
+     * Description: Accessor method for the territory attribute.
+     */
+    public Territory getTerritory() {
+        return territory;
+    }
+
+    /*
+     * Method name: getLargePieces
+     * Parameters: GameState state - The position
+     * int p - The player index
+     * Return type: int - The number of the player's largest pieces left
+     * Description: Counts the large pieces in the player's inventory, which the
+     * position keeps up to date.
+     */
+    public int getLargePieces(GameState state, int p) {
+        return Integer.bitCount(state.getPieces(p) & LARGE_PIECES);
+    }
+
+    /*
+     * Method name: recheck
+     * Parameters: GameState state - The position
+     * int p - The player index
+     * long[] corners - The corners to check
+     * Description: Marks the given corners usable if an unused piece fits. The
+     * remembered placement is tried first, then the smallest pieces since they
+     * fit most often.
+     */
+    private void recheck(GameState state, int p, long[] corners) {
+        // Declare variables
+        BitBoard bits = state.getBits();
+        int pieces = state.getPieces(p), remaining, pieceId, idx, move;
+        long word;
+
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            word = corners[w];
+            while (word != 0) {
+                idx = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                // The remembered placement still fits
+                move = witnesses[p][idx];
+                if (move != Move.NONE && (pieces & (1 << Move.pieceId(move))) != 0
+                        && MoveGenerator.isLegal(bits, p, move)) {
+                    usable[p][w] |= 1L << idx;
+                    continue;
+                }
+
+                remaining = pieces;
+                while (remaining != 0) {
+                    pieceId = Integer.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+
+                    move = generator.findAt(bits, p, pieceId, idx >>> 4, idx & 15);
+                    if (move != Move.NONE) {
+                        usable[p][w] |= 1L << idx;
+                        setWitness(p, idx, move);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: setWitness
+     * Parameters: int p - The player index
+     * int idx - The bit index of the corner
+     * int move - A legal move on the corner
+     * Description: Records a witness and logs the old one.
+     */
+    private void setWitness(int p, int idx, int move) {
+        log[logSize++] = (long) p << 40 | (long) idx << 32 | (witnesses[p][idx] & 0xFFFFFFFFL);
+        witnesses[p][idx] = move;
+    }
+
+    /*
+     * Method name: buildWindow
+     * Parameters: int r - The row of the tile
+     * int c - The column of the tile
+     * int rows - The length of the tile
+     * int cols - The width of the tile
+     * Description: Marks the squares within a piece's reach of the tile's
+     * bounding box.
+     */
+    private void buildWindow(int r, int c, int rows, int cols) {
+        // Declare variables
+        long span = (1L << (cols + 2 * REACH)) - 1;
+        long lane = (c >= REACH ? span << (c - REACH) : span >>> (REACH - c)) & 0xFFFFL;
+
+        Arrays.fill(window, 0);
+        for (int i = Math.max(r - REACH, 0); i < Math.min(r + rows + REACH, BlokusDuo.BOARD_SIZE); i++) {
+            BitBoard.orRow(window, i, lane);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.*;
+
+/*
+ * Program name: MobilityEstimator
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class that estimates how many pieces a player can
+ * still place without generating moves. The 5x5 window of blocked squares
+ * around a corner is looked up in a table of the pieces that fit on the
+ * corner, and the table is filled as windows are first seen, since most of
+ * the 2^25 windows never occur. A piece fits if one of its orientations
+ * covers the corner without covering a blocked square of the window; squares
+ * outside the window are taken to be free, so long pieces are counted
+ * generously.
+ */
+
+public class MobilityEstimator {
+    // Window size and the bit of its centre square
+    private static final int WINDOW = 5;
+    private static final int RADIUS = WINDOW / 2;
+    private static final int CENTRE = RADIUS * WINDOW + RADIUS;
+
+    // Table size; must be a power of two
+    private static final int TABLE_BITS = 16;
+    private static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+    // Marks a filled table entry
+    private static final long FILLED = 1L << 62;
+
+    // Squares of the board in each row lane
+    private static final long LANE = (1L << BlokusDuo.BOARD_SIZE) - 1;
+
+    // Window squares each piece covers, per orientation and square on the
+    // centre, with duplicates removed
+    private static final int[][] SHAPES = new int[PieceTable.PIECES][];
+
+    static {
+        // Declare variables
+        Set<Integer> shapes = new LinkedHashSet<>();
+        Orientation o;
+        int shape, dr, dc, i;
+
+        for (int pieceId = 0; pieceId < PieceTable.PIECES; pieceId++) {
+            shapes.clear();
+            for (int id : PieceTable.getOrientations(pieceId)) {
+                o = PieceTable.get(id);
+
+                // Put each square of the tile on the centre in turn
+                for (int k = 0; k < o.getSize(); k++) {
+                    shape = 0;
+                    for (int j = 0; j < o.getSize(); j++) {
+                        dr = o.getCellR()[j] - o.getCellR()[k];
+                        dc = o.getCellC()[j] - o.getCellC()[k];
+                        if (Math.abs(dr) <= RADIUS && Math.abs(dc) <= RADIUS) {
+                            shape |= 1 << (CENTRE + dr * WINDOW + dc);
+                        }
+                    }
+                    shapes.add(shape);
+                }
+            }
+
+            SHAPES[pieceId] = new int[shapes.size()];
+            i = 0;
+            for (int s : shapes) {
+                SHAPES[pieceId][i++] = s;
+            }
+        }
+    }
+
+    // Entries: the window in the upper half and the pieces that fit in the
+    // lower, or 0 if empty
+    private final long[] table = new long[1 << TABLE_BITS];
+
+    // Scratch mask of the blocked squares
+    private final long[] blocked = new long[BitBoard.WORDS];
+
+    /*
+     * Method name: estimate
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the piece ids that may be placed
+     * Return type: int - The estimated mobility of the player
+     * Description: Counts the pieces that fit on each of the player's corners,
+     * one table probe per corner.
+     */
+    public int estimate(BitBoard bits, int p, int pieces) {
+        // Declare variables
+        long[] corners = bits.getCorners(p);
+        long word;
+        int idx, mobility = 0;
+
+        block(bits, p);
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            word = corners[w];
+            while (word != 0) {
+                idx = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                mobility += Integer.bitCount(lookup(window(idx >>> 4, idx & 15)) & pieces);
+            }
+        }
+
+        return mobility;
+    }
+
+    /*
+     * Method name: block
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * Description: Marks the squares the player may not cover.
+     */
+    private void block(BitBoard bits, int p) {
+        // Declare variables
+        long[] forbidden = bits.getForbidden(p), p1 = bits.getOccupied(BitBoard.P1_INDEX);
+        long[] p2 = bits.getOccupied(BitBoard.P2_INDEX);
+
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            blocked[w] = forbidden[w] | p1[w] | p2[w];
+        }
+    }
+
+    /*
+     * Method name: window
+     * Parameters: int r - The row of the corner
+     * int c - The column of the corner
+     * Return type: int - The blocked squares around the corner, one bit per
+     * square row by row; squares off the board are blocked
+     * Description: Cuts the window out of the blocked mask.
+     */
+    private int window(int r, int c) {
+        // Declare variables
+        int window = 0, i;
+        long lane;
+
+        for (int k = 0; k < WINDOW; k++) {
+            i = r - RADIUS + k;
+            if (i < 0 || i >= BlokusDuo.BOARD_SIZE) {
+                lane = (1 << WINDOW) - 1;
+            } else {
+                // Pad both sides of the lane with blocked squares
+                lane = (BitBoard.row(blocked, i) | ~LANE) << RADIUS | ((1 << RADIUS) - 1);
+                lane = (lane >>> c) & ((1 << WINDOW) - 1);
+            }
+            window |= (int) lane << (k * WINDOW);
+        }
+
+        return window;
+    }
+
+    /*
+     * Method name: lookup
+     * Parameters: int window - The blocked squares around a corner
+     * Return type: int - Bit mask of the piece ids that fit on the corner
+     * Description: Probes the table, and fills the entry on a miss.
+     */
+    private int lookup(int window) {
+        // Declare variables
+        int slot = (int) Zobrist.mix(window) & TABLE_MASK, fits = 0;
+        long key = FILLED | (long) window << 32;
+
+        if ((table[slot] & ~0xFFFFFFFFL) == key) {
+            return (int) table[slot];
+        }
+
+        for (int pieceId = 0; pieceId < PieceTable.PIECES; pieceId++) {
+            for (int shape : SHAPES[pieceId]) {
+                if ((shape & window) == 0) {
+                    fits |= 1 << pieceId;
+                    break;
+                }
+            }
+        }
+        table[slot] = key | fits;
+
+        return fits;
+    }
+}
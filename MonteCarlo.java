@@ -0,0 +1,479 @@
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/*
+ * Program name: MonteCarlo
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for the master bot. Runs Monte Carlo tree search
+ * with UCT selection on every available core. All threads share one tree and
+ * mark the path they are searching with a virtual loss, so they spread out over
+ * different moves instead of repeating the same playout. Moves are ranked by a
+ * cheap prior so playouts are spent on the most promising ones first.
+ */
+
+public class MonteCarlo {
+    // UCT exploration constant
+    private static final double EXPLORATION = 0.7;
+
+    // Lost playouts added to each node on a path while it is being searched
+    private static final int VIRTUAL_LOSS = 3;
+
+    // Ranked moves kept when a node is expanded; doubled each time it runs out
+    private static final int INITIAL_CAPACITY = 8;
+
+    // Weights of the move prior
+    private static final int SIZE_WEIGHT = 4;
+    private static final int CREATED_WEIGHT = 2;
+    private static final int BLOCKED_WEIGHT = 3;
+
+    // Random corner and piece pairs tried for each playout move
+    private static final int SAMPLES = 8;
+
+    // Playout results in half points
+    private static final int WIN = 2, DRAW = 1, LOSS = 0;
+
+    // Playouts after which pondering stops, to bound the memory of the tree
+    private static final long PONDER_PLAYOUTS = 1_000_000;
+
+    // Playouts between checks for an early stop; must be a power of two
+    private static final int CHECK_INTERVAL = 256;
+
+    private final int threads;
+    private final AtomicLong playouts = new AtomicLong();
+
+    // Search state shared by the threads
+    private MonteCarloNode root;
+    private long start;
+    private long deadline;
+    private long playoutLimit;
+    private volatile boolean stopping;
+
+    // Playouts per nanosecond of the last timed search, or 0 before the first
+    private double lastRate;
+    private Thread[] workers;
+
+    // Subtree of the last move played by the bot, kept for its next turn, and
+    // the key of the position it starts from
+    private MonteCarloNode kept;
+    private long keptHash;
+
+    /*
+     * Method name: MonteCarlo
+     * Description: Constructor method for a search using every available core.
+     */
+    public MonteCarlo() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Method name: MonteCarlo
+     * Parameters: int threads - The number of search threads
+     * Description: Constructor method for a search with a given number of threads.
+     */
+    public MonteCarlo(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    /*
+     * Method name: getPlayouts()
+     * Return type: long - The number of playouts run by the last search
+     * Description: Accessor method for the playouts attribute.
+     */
+    public long getPlayouts() {
+        return playouts.get();
+    }
+
+    /*
+     * Method name: findMove
+     * Parameters: GameState position - The position to search; it is not changed
+     * long timeLimit - The time to search for in milliseconds
+     * Return type: int - The most visited packed move, or Move.PASS if there are
+     * no legal moves
+     * Description: Searches the position on every thread until the time runs out.
+     * The tree from the last search is reused if the position follows from it,
+     * and its playouts count against the time: a reused root that already has
+     * the playouts a full search would reach is not searched again.
+     */
+    public int findMove(GameState position, long timeLimit) {
+        // Declare variables
+        MonteCarloNode best;
+
+        stopPondering();
+        root = reuseTree(position);
+
+        // Search on every thread and wait for them to finish
+        if (!root.isExpanded() || root.getVisits() < lastRate * timeLimit * 1_000_000L) {
+            startWorkers(position, System.nanoTime() + timeLimit * 1_000_000L, Long.MAX_VALUE);
+            joinWorkers();
+            lastRate = playouts.get() / (double) Math.max(System.nanoTime() - start, 1);
+        } else {
+            playouts.set(0);
+        }
+
+        best = root.isExpanded() ? root.mostVisited() : null;
+        if (best == null) {
+            kept = null;
+            return Move.PASS;
+        }
+
+        // Keep the subtree of the chosen move for the next turn
+        kept = best;
+        keptHash = position.getHash() ^ Zobrist.move(position.getSideToMove(), best.getMove());
+        return best.getMove();
+    }
+
+    /*
+     * Method name: startPondering
+     * Parameters: GameState position - The position with the opponent to move;
+     * it may be changed once this returns
+     * Description: Searches the position in the background while the opponent
+     * thinks. The tree becomes the kept tree, so the search for the bot's next
+     * move starts from the opponent's reply within it.
+     */
+    public void startPondering(GameState position) {
+        stopPondering();
+
+        // Continue the kept tree if it is this position
+        if (kept == null || keptHash != position.getHash()) {
+            kept = new MonteCarloNode(Move.NONE);
+            keptHash = position.getHash();
+        }
+        root = kept;
+
+        startWorkers(position, Long.MAX_VALUE, PONDER_PLAYOUTS);
+    }
+
+    /*
+     * Method name: stopPondering
+     * Description: Stops a background search and waits for its threads to end.
+     * Does nothing if the bot is not pondering.
+     */
+    public void stopPondering() {
+        if (workers != null) {
+            stopping = true;
+            joinWorkers();
+        }
+    }
+
+    /*
+     * Method name: startWorkers
+     * Parameters: GameState position - The root position
+     * long deadline - The System.nanoTime value to stop at
+     * long playoutLimit - The number of playouts to stop at
+     * Description: Starts a search thread for each core on its own copy of the
+     * position.
+     */
+    private void startWorkers(GameState position, long deadline, long playoutLimit) {
+        this.start = System.nanoTime();
+        this.deadline = deadline;
+        this.playoutLimit = playoutLimit;
+        stopping = false;
+        playouts.set(0);
+
+        workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(new Worker(new GameState(position)));
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    /*
+     * Method name: isDecided
+     * Return type: boolean - Whether or not the search can stop before the
+     * deadline
+     * Description: Estimates the playouts of the whole search from the rate so
+     * far. The search is done once the root has that many, counting those
+     * inherited from pondering, or once the second best move could no longer
+     * catch up in the playouts left. A tree reused from pondering is often
+     * done at once, so the bot replies almost immediately.
+     */
+    private boolean isDecided() {
+        // Declare variables
+        long now = System.nanoTime();
+        double rate = playouts.get() / (double) Math.max(now - start, 1);
+
+        return root.isExpanded() && (root.getVisits() >= rate * (deadline - start)
+                || root.visitLead() > rate * (deadline - now));
+    }
+
+    /*
+     * Method name: joinWorkers
+     * Description: Waits for every search thread to end.
+     */
+    private void joinWorkers() {
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers = null;
+    }
+
+    /*
+     * Method name: reuseTree
+     * Parameters: GameState position - The position to search
+     * Return type: MonteCarloNode - The root for the search
+     * Description: Finds the position in the subtree kept from the last search.
+     * If the opponent's last move leads from the kept subtree to the position,
+     * that child becomes the new root so its playouts still count. Otherwise
+     * the search starts from a new root, and the old tree is let go.
+     */
+    private MonteCarloNode reuseTree(GameState position) {
+        // Declare variables
+        int lastMove = position.lastMove();
+        MonteCarloNode child = null;
+
+        if (kept != null && kept.isExpanded() && lastMove != Move.NONE
+                && (keptHash ^ Zobrist.move(1 - position.getSideToMove(), lastMove)) == position.getHash()) {
+            child = kept.findChild(lastMove);
+        }
+        kept = null;
+
+        return child == null ? new MonteCarloNode(Move.NONE) : child;
+    }
+
+    /*
+     * Program name: Worker
+     * Description: One search thread. Each thread plays out games on its own copy
+     * of the position and shares only the tree.
+     */
+    private class Worker implements Runnable {
+        private final GameState state;
+        private final MoveGenerator generator = new MoveGenerator();
+        private final MoveList moves = new MoveList();
+        private final SplittableRandom random = new SplittableRandom();
+        private final MonteCarloNode[] path = new MonteCarloNode[GameState.MAX_PLIES + 1];
+
+        // Scratch space for ranking moves
+        private final long[] keys = new long[MoveGenerator.MAX_PLACEMENTS];
+        private final long[] tile = new long[BitBoard.WORDS];
+        private final long[] edges = new long[BitBoard.WORDS];
+        private final long[] diagonals = new long[BitBoard.WORDS];
+
+        /*
+         * Method name: Worker
+         * Parameters: GameState state - The thread's own copy of the root position
+         * Description: Constructor method for a search thread.
+         */
+        Worker(GameState state) {
+            this.state = state;
+        }
+
+        /*
+         * Method name: run
+         * Description: Runs playouts until the deadline or playout limit is
+         * reached, the best move is decided, or the search is stopped.
+         */
+        public void run() {
+            // Declare variables
+            long count;
+
+            do {
+                playout();
+                count = playouts.incrementAndGet();
+
+                // Stop everyone once the best move cannot change
+                if ((count & (CHECK_INTERVAL - 1)) == 0 && deadline != Long.MAX_VALUE && isDecided()) {
+                    stopping = true;
+                }
+            } while (count < playoutLimit && System.nanoTime() < deadline && !stopping);
+        }
+
+        /*
+         * Method name: playout
+         * Description: Runs one playout: selects a path down the tree, expands its
+         * last node, plays random moves to the end of the game and records the
+         * result on the path.
+         */
+        private void playout() {
+            // Declare variables
+            MonteCarloNode node = root;
+            int depth = 0, rootSide = state.getSideToMove(), rollout, mover;
+
+            // Select a path down the tree
+            node.addVirtualLoss(VIRTUAL_LOSS);
+            path[depth++] = node;
+            while (node.isExpanded() && !node.isTerminal()) {
+                // Rank more moves if the node has used up the ones it kept
+                if (node.needsMoves()) {
+                    rankMoves();
+                    node.extend(moves, 2 * node.getRankedCount());
+                }
+
+                node = node.select(EXPLORATION);
+                node.addVirtualLoss(VIRTUAL_LOSS);
+                state.makeMove(node.getMove());
+                path[depth++] = node;
+            }
+
+            // Expand the last node
+            if (!node.isExpanded()) {
+                rankMoves();
+                node.expand(moves, INITIAL_CAPACITY);
+            }
+
+            // Play out the rest of the game
+            rollout = rollout();
+
+            // Record the result for the player who made each move on the path
+            for (int i = depth - 1; i >= 0; i--) {
+                mover = rootSide ^ ((i - 1) & 1);
+                path[i].update(result(mover), VIRTUAL_LOSS);
+            }
+
+            // Return to the root position
+            for (int i = 0; i < rollout + depth - 1; i++) {
+                state.unmakeMove();
+            }
+        }
+
+        /*
+         * Method name: rankMoves
+         * Description: Lists the moves of the current position from best to worst
+         * prior. A pass is listed if the player to move cannot place a tile but
+         * the game is not over.
+         */
+        private void rankMoves() {
+            // Declare variables
+            int count = state.generateMoves(generator, moves);
+
+            if (count == 0) {
+                if (state.getPasses() == 0) {
+                    moves.add(Move.PASS);
+                }
+                return;
+            }
+
+            // Sort by prior, breaking ties by move so the order is always the same
+            for (int i = 0; i < count; i++) {
+                keys[i] = ((long) prior(moves.get(i)) << 32) | moves.get(i);
+            }
+            Arrays.sort(keys, 0, count);
+            for (int i = 0; i < count; i++) {
+                moves.set(i, (int) keys[count - 1 - i]);
+            }
+        }
+
+        /*
+         * Method name: prior
+         * Parameters: int move - The packed move
+         * Return type: int - How promising the move looks
+         * Description: Scores a move by the size of its piece, the corners it
+         * creates for the player and the opponent corners it covers.
+         */
+        private int prior(int move) {
+            // Declare variables
+            Orientation o = Move.orientation(move);
+            BitBoard bits = state.getBits();
+            int p = state.getSideToMove(), created = 0, blocked = 0;
+            long[] forbidden = bits.getForbidden(p), corners = bits.getCorners(p), opponent = bits.getCorners(1 - p);
+
+            BitBoard.tileMask(o.getRowMasks(), o.getRows(), Move.row(move), Move.col(move), tile);
+            BitBoard.adjacent(tile, edges);
+            BitBoard.diagonal(tile, diagonals);
+
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                created += Long.bitCount(diagonals[w] & ~(forbidden[w] | edges[w] | tile[w] | corners[w]));
+                blocked += Long.bitCount(tile[w] & opponent[w]);
+            }
+
+            return SIZE_WEIGHT * o.getSize() + CREATED_WEIGHT * created + BLOCKED_WEIGHT * blocked;
+        }
+
+        /*
+         * Method name: rollout
+         * Return type: int - The number of moves played
+         * Description: Plays the game out with quick random moves.
+         */
+        private int rollout() {
+            // Declare variables
+            int played = 0, p, move;
+
+            while (true) {
+                p = state.getSideToMove();
+                move = randomMove();
+                if (move == Move.NONE) {
+                    move = generator.findAnyMove(state.getBits(), p, state.getPieces(p));
+                }
+
+                if (move == Move.NONE) {
+                    // Game over after both players pass
+                    if (state.getPasses() >= 1) {
+                        return played;
+                    }
+                    move = Move.PASS;
+                }
+
+                state.makeMove(move);
+                played++;
+            }
+        }
+
+        /*
+         * Method name: randomMove
+         * Return type: int - A legal packed move, or Move.NONE if none was found
+         * Description: Tries a few random corners, each with the larger of two
+         * random unused pieces. Much cheaper than listing every move, and favours
+         * big pieces like a real player would.
+         */
+        private int randomMove() {
+            // Declare variables
+            int p = state.getSideToMove(), pieces = state.getPieces(p), move, pieceId, idx;
+            long[] corners = state.getBits().getCorners(p);
+            int cornerCount = BitBoard.bitCount(corners), pieceCount = Integer.bitCount(pieces);
+
+            if (cornerCount == 0 || pieceCount == 0) {
+                return Move.NONE;
+            }
+
+            for (int i = 0; i < SAMPLES; i++) {
+                idx = BitBoard.nthBit(corners, random.nextInt(cornerCount));
+                pieceId = Math.max(nthPiece(pieces, random.nextInt(pieceCount)),
+                        nthPiece(pieces, random.nextInt(pieceCount)));
+
+                move = generator.findAt(state.getBits(), p, pieceId, idx >>> 4, idx & 15);
+                if (move != Move.NONE) {
+                    return move;
+                }
+            }
+
+            return Move.NONE;
+        }
+
+        /*
+         * Method name: nthPiece
+         * Parameters: int pieces - Bit mask of piece ids
+         * int n - The position of the piece among the set bits, from 0
+         * Return type: int - The piece id
+         * Description: Finds the n-th piece of a mask.
+         */
+        private int nthPiece(int pieces, int n) {
+            for (int k = 0; k < n; k++) {
+                pieces &= pieces - 1;
+            }
+            return Integer.numberOfTrailingZeros(pieces);
+        }
+
+        /*
+         * Method name: result
+         * Parameters: int p - The player index
+         * Return type: int - The result of the finished game for the player
+         * Description: Scores the end of a playout.
+         */
+        private int result(int p) {
+            // Declare variables
+            int diff = state.scoreDifference(p);
+
+            if (diff > 0) {
+                return WIN;
+            } else if (diff < 0) {
+                return LOSS;
+            }
+            return DRAW;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+/*
+ * Program name: MonteCarloNode
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a node of the Monte Carlo search tree. The
+ * node is shared by every search thread, so its statistics are updated with
+ * atomic operations. Moves are ranked by a prior and only the best few are
+ * admitted as children, with more admitted as the node is visited more
+ * (progressive widening).
+ */
+
+public class MonteCarloNode {
+    // Atomic access to the statistics
+    private static final AtomicIntegerFieldUpdater<MonteCarloNode> VISITS =
+            AtomicIntegerFieldUpdater.newUpdater(MonteCarloNode.class, "visits");
+    private static final AtomicIntegerFieldUpdater<MonteCarloNode> WINS =
+            AtomicIntegerFieldUpdater.newUpdater(MonteCarloNode.class, "wins");
+
+    // Children admitted after n visits: WIDTH_SCALE * n ^ WIDTH_EXPONENT
+    private static final double WIDTH_SCALE = 2.0;
+    private static final double WIDTH_EXPONENT = 0.4;
+
+    private final int move;
+
+    // Playouts through this node, and their results in half points for the
+    // player who made the move (2 for a win, 1 for a draw)
+    private volatile int visits;
+    private volatile int wins;
+
+    // The best legal moves by prior, best first, null until expanded. Only as
+    // many as needed are kept, and more are added when the node widens.
+    private volatile int[] ranked;
+    private int total;
+
+    // Admitted children, in the order of the ranked moves
+    private volatile MonteCarloNode[] children;
+
+    /*
+     * Method name: MonteCarloNode
+     * Parameters: int move - The packed move that leads to this node
+     * Description: Constructor method for an unvisited node.
+     */
+    public MonteCarloNode(int move) {
+        this.move = move;
+    }
+
+    /*
+     * Method name: getMove()
+     * Return type: int - The packed move that leads to this node
+     * Description: Accessor method for the move attribute.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /*
+     * Method name: getVisits()
+     * Return type: int - The number of playouts through this node
+     * Description: Accessor method for the visits attribute.
+     */
+    public int getVisits() {
+        return visits;
+    }
+
+    /*
+     * Method name: getWins()
+     * Return type: int - The results of the playouts in half points
+     * Description: Accessor method for the wins attribute.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /*
+     * Method name: getRankedCount()
+     * Return type: int - The number of ranked moves kept, or 0 if not expanded
+     * Description: Accessor method for the length of the ranked attribute.
+     */
+    public int getRankedCount() {
+        return ranked == null ? 0 : ranked.length;
+    }
+
+    /*
+     * Method name: isExpanded()
+     * Return type: boolean - Whether or not the legal moves have been ranked
+     * Description: Checks if the node has been expanded.
+     */
+    public boolean isExpanded() {
+        return ranked != null;
+    }
+
+    /*
+     * Method name: isTerminal()
+     * Return type: boolean - Whether or not the game is over at this node
+     * Description: Checks if an expanded node has no moves.
+     */
+    public boolean isTerminal() {
+        return ranked != null && total == 0;
+    }
+
+    /*
+     * Method name: expand
+     * Parameters: MoveList legal - Every legal move from this node, best first
+     * int capacity - The number of moves to keep
+     * Description: Stores the best moves. Does nothing if another thread
+     * expanded the node first.
+     */
+    public synchronized void expand(MoveList legal, int capacity) {
+        if (ranked != null) {
+            return;
+        }
+
+        total = legal.size();
+        children = new MonteCarloNode[0];
+        ranked = prefix(legal, capacity);
+    }
+
+    /*
+     * Method name: needsMoves
+     * Return type: boolean - Whether or not the node should admit a child that is
+     * past the moves it kept
+     * Description: Checks if the node must be given more ranked moves.
+     */
+    public boolean needsMoves() {
+        // Declare variables
+        int admitted = children.length;
+
+        return admitted == ranked.length && admitted < Math.min(total, width());
+    }
+
+    /*
+     * Method name: extend
+     * Parameters: MoveList legal - Every legal move from this node, best first
+     * int capacity - The number of moves to keep
+     * Description: Keeps more of the ranked moves so more children can be
+     * admitted.
+     */
+    public synchronized void extend(MoveList legal, int capacity) {
+        if (capacity > ranked.length) {
+            ranked = prefix(legal, capacity);
+        }
+    }
+
+    /*
+     * Method name: addVirtualLoss
+     * Parameters: int amount - The number of lost playouts to add
+     * Description: Counts a playout in progress as lost so other threads are
+     * steered to other nodes until it finishes.
+     */
+    public void addVirtualLoss(int amount) {
+        VISITS.addAndGet(this, amount);
+    }
+
+    /*
+     * Method name: update
+     * Parameters: int result - The playout result in half points
+     * int virtualLoss - The virtual loss added when the node was selected
+     * Description: Records a finished playout and removes its virtual loss.
+     */
+    public void update(int result, int virtualLoss) {
+        WINS.addAndGet(this, result);
+        VISITS.addAndGet(this, 1 - virtualLoss);
+    }
+
+    /*
+     * Method name: select
+     * Parameters: double exploration - The UCT exploration constant
+     * Return type: MonteCarloNode - The child to search next
+     * Description: Admits the next ranked move if the node has been visited
+     * enough, otherwise picks the admitted child with the best UCT value.
+     * Children that were never visited are tried first.
+     */
+    public MonteCarloNode select(double exploration) {
+        // Declare variables
+        MonteCarloNode[] admitted = children;
+        double logVisits = Math.log(Math.max(visits, 1)), value, bestValue = Double.NEGATIVE_INFINITY;
+        MonteCarloNode best = null;
+        int childVisits;
+
+        // Widen
+        if (admitted.length < Math.min(total, width()) && admitted.length < ranked.length) {
+            return admit();
+        }
+
+        for (MonteCarloNode child : admitted) {
+            childVisits = child.visits;
+
+            // Unvisited child
+            if (childVisits == 0) {
+                return child;
+            }
+
+            value = child.wins / (2.0 * childVisits) + exploration * Math.sqrt(logVisits / childVisits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+
+        return best;
+    }
+
+    /*
+     * Method name: mostVisited
+     * Return type: MonteCarloNode - The child with the most playouts, or null if
+     * no child has been admitted
+     * Description: Picks the child to play once the search is over.
+     */
+    public MonteCarloNode mostVisited() {
+        // Declare variables
+        MonteCarloNode best = null;
+
+        for (MonteCarloNode child : children) {
+            if (best == null || child.visits > best.visits) {
+                best = child;
+            }
+        }
+
+        return best;
+    }
+
+    /*
+     * Method name: visitLead
+     * Return type: int - How many more playouts the most visited child has than
+     * the next most visited child
+     * Description: Measures how far ahead the current best move is.
+     */
+    public int visitLead() {
+        // Declare variables
+        int first = 0, second = 0, childVisits;
+
+        for (MonteCarloNode child : children) {
+            childVisits = child.visits;
+            if (childVisits > first) {
+                second = first;
+                first = childVisits;
+            } else if (childVisits > second) {
+                second = childVisits;
+            }
+        }
+
+        return first - second;
+    }
+
+    /*
+     * Method name: findChild
+     * Parameters: int move - The packed move
+     * Return type: MonteCarloNode - The child for the move, or null if the move
+     * was never admitted
+     * Description: Looks up a child by its move.
+     */
+    public MonteCarloNode findChild(int move) {
+        for (MonteCarloNode child : children) {
+            if (child.move == move) {
+                return child;
+            }
+        }
+
+        return null;
+    }
+
+    /*
+     * Method name: width
+     * Return type: int - The number of children the node may have
+     * Description: Calculates how many children are admitted at the node's
+     * current visit count.
+     */
+    private int width() {
+        return Math.max(1, (int) (WIDTH_SCALE * Math.pow(visits, WIDTH_EXPONENT)));
+    }
+
+    /*
+     * Method name: admit
+     * Return type: MonteCarloNode - The newest child
+     * Description: Adds a child for the best move that is not yet a child. The
+     * children array is replaced rather than changed so other threads can keep
+     * reading the old one.
+     */
+    private synchronized MonteCarloNode admit() {
+        // Declare variables
+        MonteCarloNode[] admitted = children;
+        MonteCarloNode[] widened;
+
+        if (admitted.length < ranked.length) {
+            widened = Arrays.copyOf(admitted, admitted.length + 1);
+            widened[admitted.length] = new MonteCarloNode(ranked[admitted.length]);
+            children = widened;
+            return widened[admitted.length];
+        }
+
+        return admitted[admitted.length - 1];
+    }
+
+    /*
+     * Method name: prefix
+     * Parameters: MoveList legal - The ranked moves
+     * int capacity - The number of moves to keep
+     * Return type: int[] - The first moves of the list
+     * Description: Copies the best moves out of a list.
+     */
+    private static int[] prefix(MoveList legal, int capacity) {
+        // Declare variables
+        int[] list = new int[Math.min(capacity, legal.size())];
+
+        for (int i = 0; i < list.length; i++) {
+            list[i] = legal.get(i);
+        }
+
+        return list;
+    }
+}
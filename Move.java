@@ -0,0 +1,162 @@
+/*
+ * Program name: Move
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Class that contains methods for packing a tile placement into a
+ * primitive int. Bits 0-3 hold the column, bits 4-7 the row, bits 8-14 the
+ * orientation id and bits 15-19 the piece id, so the low 15 bits are the
+ * placement key used by MoveGenerator.
+ */
+
+public class Move {
+    // Special values that never collide with an encoded placement
+    public static final int NONE = -1;
+    public static final int PASS = -2;
+
+    private static final int PIECE_SHIFT = 15;
+    private static final int PLACEMENT_MASK = (1 << PIECE_SHIFT) - 1;
+
+    /*
+     * Method name: encode
+     * Parameters: int pieceId - The piece of the tile
+     * int orientationId - The orientation of the tile
+     * int r - The row of the tile
+     * int c - The column of the tile
+     * Return type: int - The packed move
+     * Description: Packs a placement into a move.
+     */
+    public static int encode(int pieceId, int orientationId, int r, int c) {
+        return (pieceId << PIECE_SHIFT) | MoveGenerator.placementKey(orientationId, r, c);
+    }
+
+    /*
+     * Method name: fromPlacement
+     * Parameters: int placement - The placement key
+     * Return type: int - The packed move
+     * Description: Adds the piece id to a placement key.
+     */
+    public static int fromPlacement(int placement) {
+        return (PieceTable.get(placement >>> 8).getPieceId() << PIECE_SHIFT) | placement;
+    }
+
+    /*
+     * Method name: placement
+     * Parameters: int move - The packed move
+     * Return type: int - The placement key of the move
+     * Description: Removes the piece id from a move.
+     */
+    public static int placement(int move) {
+        return move & PLACEMENT_MASK;
+    }
+
+    /*
+     * Method name: pieceId
+     * Parameters: int move - The packed move
+     * Return type: int - The piece id of the move
+     * Description: Decodes the piece id.
+     */
+    public static int pieceId(int move) {
+        return move >>> PIECE_SHIFT;
+    }
+
+    /*
+     * Method name: orientationId
+     * Parameters: int move - The packed move
+     * Return type: int - The orientation id of the move
+     * Description: Decodes the orientation id.
+     */
+    public static int orientationId(int move) {
+        return (move >>> 8) & 0x7F;
+    }
+
+    /*
+     * Method name: orientation
+     * Parameters: int move - The packed move
+     * Return type: Orientation - The orientation of the move
+     * Description: Looks up the orientation of a move.
+     */
+    public static Orientation orientation(int move) {
+        return PieceTable.get(orientationId(move));
+    }
+
+    /*
+     * Method name: row
+     * Parameters: int move - The packed move
+     * Return type: int - The row of the top-left corner of the tile
+     * Description: Decodes the row.
+     */
+    public static int row(int move) {
+        return (move >>> 4) & 0xF;
+    }
+
+    /*
+     * Method name: col
+     * Parameters: int move - The packed move
+     * Return type: int - The column of the top-left corner of the tile
+     * Description: Decodes the column.
+     */
+    public static int col(int move) {
+        return move & 0xF;
+    }
+
+    /*
+     * Method name: points
+     * Parameters: int move - The packed move
+     * Return type: int - The point value of the placed tile
+     * Description: Looks up the point value of a move.
+     */
+    public static int points(int move) {
+        return PieceTable.getPoints(pieceId(move));
+    }
+
+    /*
+     * Method name: name
+     * Parameters: int move - The packed move
+     * Return type: String - The name of the placed tile
+     * Description: Looks up the tile name of a move.
+     */
+    public static String name(int move) {
+        return PieceTable.getName(pieceId(move));
+    }
+
+    /*
+     * Method name: toTile
+     * Parameters: int move - The packed move
+     * Return type: Tile - A new tile in the orientation and position of the move
+     * Description: Converts a move into a Tile for the console interface.
+     */
+    public static Tile toTile(int move) {
+        Orientation o = orientation(move);
+        return new Tile(points(move), o.getRows(), o.getCols(), row(move), col(move), o.toSquares());
+    }
+
+    /*
+     * Method name: placeOnBoard
+     * Parameters: char[][] board - The game board
+     * int move - The packed move
+     * char player - The character to fill the tile squares with
+     * Description: Draws a move onto a display board.
+     */
+    public static void placeOnBoard(char[][] board, int move, char player) {
+        Orientation o = orientation(move);
+
+        for (int i = 0; i < o.getSize(); i++) {
+            board[row(move) + o.getCellR()[i]][col(move) + o.getCellC()[i]] = player;
+        }
+    }
+
+    /*
+     * Method name: toString
+     * Parameters: int move - The packed move
+     * Return type: String - A readable description of the move
+     * Description: Formats a move with 1-indexed coordinates.
+     */
+    public static String toString(int move) {
+        if (move == PASS) {
+            return "pass";
+        } else if (move == NONE) {
+            return "none";
+        }
+        return String.format("%s at (%d, %d)", name(move), row(move) + 1, col(move) + 1);
+    }
+}
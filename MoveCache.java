@@ -0,0 +1,245 @@
+import java.util.*;
+
+/*
+ * Program name: MoveCache
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class that keeps the legal moves of one player up to
+ * date as tiles are placed. A placement only removes moves that overlap or
+ * border the placed squares, and only adds moves at the corners it creates, so
+ * the board is never rescanned after the first tile.
+ */
+
+public class MoveCache {
+    // Placement keys covering each square, indexed by bit index
+    private static final int[][] COVERING = new int[BitBoard.CELLS][];
+
+    static {
+        // Declare variables
+        int[] counts = new int[BitBoard.CELLS];
+        Orientation o;
+        int cell;
+
+        // Count, then fill, the placements covering each square
+        for (int pass = 0; pass < 2; pass++) {
+            for (int id = 0; id < PieceTable.size(); id++) {
+                o = PieceTable.get(id);
+                for (int r = 0; r + o.getRows() <= BlokusDuo.BOARD_SIZE; r++) {
+                    for (int c = 0; c + o.getCols() <= BlokusDuo.BOARD_SIZE; c++) {
+                        for (int k = 0; k < o.getSize(); k++) {
+                            cell = BitBoard.bitIndex(r + o.getCellR()[k], c + o.getCellC()[k]);
+                            if (pass == 0) {
+                                counts[cell]++;
+                            } else {
+                                COVERING[cell][--counts[cell]] = MoveGenerator.placementKey(id, r, c);
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Allocate lists after counting
+            if (pass == 0) {
+                for (int i = 0; i < BitBoard.CELLS; i++) {
+                    COVERING[i] = new int[counts[i]];
+                }
+            }
+        }
+    }
+
+    private final int player;
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveList added = new MoveList();
+    private final long[] newCorners = new long[BitBoard.WORDS];
+
+    // Sparse set of moves: where[] holds (index in moves + 1) per placement key
+    private final int[] moves = new int[MoveGenerator.MAX_PLACEMENTS];
+    private final int[] where = new int[MoveGenerator.MAX_PLACEMENTS];
+    private int size;
+    private int pieces;
+
+    /*
+     * Method name: MoveCache
+     * Parameters: int player - The index of the player whose moves are kept
+     * Description: Constructor method for an empty cache.
+     */
+    public MoveCache(int player) {
+        this.player = player;
+    }
+
+    /*
+     * Method name: size()
+     * Return type: int - The number of legal moves
+     * Description: Accessor method for the size attribute.
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Method name: get()
+     * Parameters: int i - The index of the move
+     * Return type: int - The packed move at the index
+     * Description: Accessor method for a move.
+     */
+    public int get(int i) {
+        return moves[i];
+    }
+
+    /*
+     * Method name: contains()
+     * Parameters: int move - The packed move
+     * Return type: boolean - Whether or not the move is legal
+     * Description: Checks if a move is in the cache. The whole move must match,
+     * piece id included, not just its placement key.
+     */
+    public boolean contains(int move) {
+        // Declare variables
+        int idx = where[Move.placement(move)];
+
+        return idx != 0 && moves[idx - 1] == move;
+    }
+
+    /*
+     * Method name: getPieces()
+     * Return type: int - Bit mask of the pieces the player has not used
+     * Description: Accessor method for the pieces attribute.
+     */
+    public int getPieces() {
+        return pieces;
+    }
+
+    /*
+     * Method name: rebuild
+     * Parameters: BitBoard bits - The game board
+     * int pieces - Bit mask of the pieces the player has not used
+     * Description: Regenerates every legal move from scratch.
+     */
+    public void rebuild(BitBoard bits, int pieces) {
+        // Clear the set
+        for (int i = 0; i < size; i++) {
+            where[Move.placement(moves[i])] = 0;
+        }
+        size = 0;
+        this.pieces = pieces;
+
+        // Add all moves
+        generator.generate(bits, player, pieces, added);
+        for (int i = 0; i < added.size(); i++) {
+            add(added.get(i));
+        }
+    }
+
+    /*
+     * Method name: update
+     * Parameters: BitBoard bits - The game board after the placement
+     * int mover - The index of the player who placed the tile
+     * int move - The packed move that was placed
+     * Description: Updates the cache after a tile was placed by either player.
+     */
+    public void update(BitBoard bits, int mover, int move) {
+        // Declare variables
+        Orientation o = Move.orientation(move);
+        int r = Move.row(move), c = Move.col(move), pieceId = Move.pieceId(move);
+        int[] edgeMasks, cornerMasks;
+
+        // Opponent's tile: only moves overlapping it are lost
+        if (mover != player) {
+            for (int k = 0; k < o.getSize(); k++) {
+                removeCovering(r + o.getCellR()[k], c + o.getCellC()[k]);
+            }
+            return;
+        }
+
+        pieces &= ~(1 << pieceId);
+
+        // The unused starting position is dropped after the first tile
+        if (BitBoard.bitCount(bits.getOccupied(player)) == o.getSize()) {
+            rebuild(bits, pieces);
+            return;
+        }
+
+        // Remove moves of the used piece
+        for (int i = size - 1; i >= 0; i--) {
+            if (Move.pieceId(moves[i]) == pieceId) {
+                remove(moves[i]);
+            }
+        }
+
+        // Remove moves overlapping the tile
+        for (int k = 0; k < o.getSize(); k++) {
+            removeCovering(r + o.getCellR()[k], c + o.getCellC()[k]);
+        }
+
+        // Remove moves bordering the tile and collect its diagonal squares
+        edgeMasks = o.getEdgeMasks();
+        cornerMasks = o.getCornerMasks();
+        Arrays.fill(newCorners, 0);
+        for (int i = 0; i < edgeMasks.length; i++) {
+            for (int j = 0; j < o.getCols() + 2; j++) {
+                if ((edgeMasks[i] & (1 << j)) != 0) {
+                    removeCovering(r + i - 1, c + j - 1);
+                } else if ((cornerMasks[i] & (1 << j)) != 0 && BlokusDuo.inRange(r + i - 1)
+                        && BlokusDuo.inRange(c + j - 1)) {
+                    BitBoard.setBit(newCorners, r + i - 1, c + j - 1);
+                }
+            }
+        }
+
+        // Add moves at the corners the tile created
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            newCorners[w] &= bits.getCorners(player)[w];
+        }
+        generator.generate(bits, player, pieces, newCorners, added);
+        for (int i = 0; i < added.size(); i++) {
+            if (!contains(added.get(i))) {
+                add(added.get(i));
+            }
+        }
+    }
+
+    /*
+     * Method name: removeCovering
+     * Parameters: int r - The row of the square
+     * int c - The column of the square
+     * Description: Removes every cached move that covers a square.
+     */
+    private void removeCovering(int r, int c) {
+        // Square is off the board
+        if (!BlokusDuo.inRange(r) || !BlokusDuo.inRange(c)) {
+            return;
+        }
+
+        for (int key : COVERING[BitBoard.bitIndex(r, c)]) {
+            if (where[key] != 0) {
+                remove(moves[where[key] - 1]);
+            }
+        }
+    }
+
+    /*
+     * Method name: add
+     * Parameters: int move - The packed move
+     * Description: Adds a move to the set.
+     */
+    private void add(int move) {
+        moves[size++] = move;
+        where[Move.placement(move)] = size;
+    }
+
+    /*
+     * Method name: remove
+     * Parameters: int move - The packed move
+     * Description: Removes a move from the set by moving the last move into its
+     * place.
+     */
+    private void remove(int move) {
+        // Declare variables
+        int idx = where[Move.placement(move)] - 1;
+        int last = moves[--size];
+
+        moves[idx] = last;
+        where[Move.placement(last)] = idx + 1;
+        where[Move.placement(move)] = 0;
+    }
+}
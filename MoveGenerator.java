@@ -0,0 +1,286 @@
+import java.util.*;
+
+/*
+ * Program name: MoveGenerator
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class that generates legal placements starting from a
+ * player's available corners. Every legal placement must cover one of these
+ * corners, so only the anchor offsets that put a square of the tile on a
+ * corner are tried.
+ */
+
+public class MoveGenerator {
+    // Placements are keyed by (orientation id * 256 + bit index of the top-left square)
+    public static final int MAX_PLACEMENTS = PieceTable.size() * BitBoard.CELLS;
+
+    // Marks placements already tried in the current call
+    private final int[] stamps = new int[MAX_PLACEMENTS];
+    private int stamp;
+
+    // Last legal move found for each player and piece by findAnyMove
+    private final int[][] witnesses = new int[2][PieceTable.PIECES];
+
+    /*
+     * Method name: MoveGenerator
+     * Description: Constructor method for a generator with no witness moves.
+     */
+    public MoveGenerator() {
+        Arrays.fill(witnesses[BitBoard.P1_INDEX], Move.NONE);
+        Arrays.fill(witnesses[BitBoard.P2_INDEX], Move.NONE);
+    }
+
+    /*
+     * Method name: generate
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the piece ids that may be placed
+     * MoveList moves - The list to write packed moves to
+     * Return type: int - The number of legal moves written
+     * Description: Writes every distinct legal placement of the given pieces.
+     * The list is cleared first.
+     */
+    public int generate(BitBoard bits, int p, int pieces, MoveList moves) {
+        return generate(bits, p, pieces, bits.getCorners(p), moves);
+    }
+
+    /*
+     * Method name: generate
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the piece ids that may be placed
+     * long[] corners - The corners the placements must cover
+     * MoveList moves - The list to write packed moves to
+     * Return type: int - The number of legal moves written
+     * Description: Writes every distinct legal placement of the given pieces
+     * that covers one of the given corners. The list is cleared first.
+     */
+    public int generate(BitBoard bits, int p, int pieces, long[] corners, MoveList moves) {
+        // Declare variables
+        long word;
+        int idx;
+
+        moves.clear();
+        nextStamp();
+
+        // Loop through the available corners
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            word = corners[w];
+            while (word != 0) {
+                idx = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                generateAt(bits, p, pieces, idx >>> 4, idx & 15, moves);
+            }
+        }
+
+        return moves.size();
+    }
+
+    /*
+     * Method name: generateAt
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the piece ids that may be placed
+     * int r - The row of the corner
+     * int c - The column of the corner
+     * MoveList moves - The list to write packed moves to
+     * Description: Writes the legal placements that cover one corner. Placements
+     * already reached through another corner are skipped.
+     */
+    private void generateAt(BitBoard bits, int p, int pieces, int r, int c, MoveList moves) {
+        // Declare variables
+        Orientation o;
+        int[] cellR, cellC;
+        int remaining = pieces, pieceId, top, left, key;
+
+        // Loop through the unused pieces
+        while (remaining != 0) {
+            pieceId = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            for (int id : PieceTable.getOrientations(pieceId)) {
+                o = PieceTable.get(id);
+                cellR = o.getCellR();
+                cellC = o.getCellC();
+
+                // Anchor each square of the tile on the corner
+                for (int k = 0; k < cellR.length; k++) {
+                    top = r - cellR[k];
+                    left = c - cellC[k];
+
+                    // Skip anchors that push the tile off the board
+                    if (top < 0 || left < 0 || top + o.getRows() > BlokusDuo.BOARD_SIZE
+                            || left + o.getCols() > BlokusDuo.BOARD_SIZE) {
+                        continue;
+                    }
+
+                    // Skip placements that were already tried from another corner
+                    key = placementKey(id, top, left);
+                    if (stamps[key] == stamp) {
+                        continue;
+                    }
+                    stamps[key] = stamp;
+
+                    if (bits.canPlace(p, o.getRowMasks(), o.getRows(), o.getCols(), top, left)) {
+                        moves.add(Move.encode(pieceId, id, top, left));
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: hasAnyMove
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the piece ids that may be placed
+     * Return type: boolean - Whether or not the player has a legal move
+     * Description: Checks if the player can place any tile, stopping at the
+     * first legal placement.
+     */
+    public boolean hasAnyMove(BitBoard bits, int p, int pieces) {
+        return findAnyMove(bits, p, pieces) != Move.NONE;
+    }
+
+    /*
+     * Method name: findAnyMove
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the piece ids that may be placed
+     * Return type: int - A legal packed move, or Move.NONE if there is none
+     * Description: Finds one legal move. The last move found for each piece is
+     * tried first since it is usually still legal, then pieces are searched
+     * from largest to smallest since large pieces are the first to run out of
+     * room.
+     */
+    public int findAnyMove(BitBoard bits, int p, int pieces) {
+        // Declare variables
+        long[] corners = bits.getCorners(p);
+        long word;
+        int remaining, pieceId, idx, move = Move.NONE;
+
+        // Try the remembered witness of each piece
+        remaining = pieces;
+        while (remaining != 0 && move == Move.NONE) {
+            pieceId = 31 - Integer.numberOfLeadingZeros(remaining);
+            remaining &= ~(1 << pieceId);
+
+            if (witnesses[p][pieceId] != Move.NONE && isLegal(bits, p, witnesses[p][pieceId])) {
+                move = witnesses[p][pieceId];
+            }
+        }
+
+        // Search each piece at every corner, largest pieces first
+        remaining = pieces;
+        while (remaining != 0 && move == Move.NONE) {
+            pieceId = 31 - Integer.numberOfLeadingZeros(remaining);
+            remaining &= ~(1 << pieceId);
+
+            for (int w = 0; w < BitBoard.WORDS && move == Move.NONE; w++) {
+                word = corners[w];
+                while (word != 0 && move == Move.NONE) {
+                    idx = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    move = findAt(bits, p, pieceId, idx >>> 4, idx & 15);
+                }
+            }
+
+            // Remember the move for the next query
+            if (move != Move.NONE) {
+                witnesses[p][pieceId] = move;
+            }
+        }
+
+        return move;
+    }
+
+    /*
+     * Method name: findAt
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieceId - The piece to place
+     * int r - The row of the corner
+     * int c - The column of the corner
+     * Return type: int - A legal packed move covering the corner, or Move.NONE
+     * Description: Finds one legal placement of a piece on a corner.
+     */
+    public int findAt(BitBoard bits, int p, int pieceId, int r, int c) {
+        // Declare variables
+        Orientation o;
+        int top, left;
+
+        for (int id : PieceTable.getOrientations(pieceId)) {
+            o = PieceTable.get(id);
+            for (int k = 0; k < o.getSize(); k++) {
+                top = r - o.getCellR()[k];
+                left = c - o.getCellC()[k];
+
+                if (bits.canPlace(p, o.getRowMasks(), o.getRows(), o.getCols(), top, left)) {
+                    return Move.encode(pieceId, id, top, left);
+                }
+            }
+        }
+
+        return Move.NONE;
+    }
+
+    /*
+     * Method name: isLegal
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int move - The packed move
+     * Return type: boolean - Whether or not the move can be placed
+     * Description: Checks a single move against the board. The piece is assumed
+     * to be unused.
+     */
+    public static boolean isLegal(BitBoard bits, int p, int move) {
+        Orientation o = Move.orientation(move);
+        return bits.canPlace(p, o.getRowMasks(), o.getRows(), o.getCols(), Move.row(move), Move.col(move));
+    }
+
+    /*
+     * Method name: nextStamp
+     * Description: Starts a new generation call, clearing the stamps when the
+     * counter wraps around.
+     */
+    private void nextStamp() {
+        stamp++;
+        if (stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /*
+     * Method name: placementKey
+     * Parameters: int orientationId - The orientation of the tile
+     * int r - The row of the tile
+     * int c - The column of the tile
+     * Return type: int - The placement key
+     * Description: Packs a placement into a key.
+     */
+    public static int placementKey(int orientationId, int r, int c) {
+        return (orientationId << 8) | BitBoard.bitIndex(r, c);
+    }
+
+    /*
+     * Method name: inventoryMask
+     * Parameters: Map<String, Tile> tiles - The player's tile set
+     * Return type: int - Bit mask of the piece ids that are unused
+     * Description: Converts a tile set into a piece mask for the generator.
+     */
+    public static int inventoryMask(Map<String, Tile> tiles) {
+        // Declare variables
+        int mask = 0;
+
+        for (int i = 0; i < PieceTable.PIECES; i++) {
+            if (!tiles.get(PieceTable.getName(i)).isUsed()) {
+                mask |= 1 << i;
+            }
+        }
+
+        return mask;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Program name: MoveList
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a reusable buffer of packed moves. The buffer
+ * is large enough for every placement key, so it never grows.
+ */
+
+public class MoveList {
+    private final int[] moves = new int[MoveGenerator.MAX_PLACEMENTS];
+    private int size;
+
+    /*
+     * Method name: size()
+     * Return type: int - The number of moves in the list
+     * Description: Accessor method for the size attribute.
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Method name: isEmpty()
+     * Return type: boolean - Whether or not the list has no moves
+     * Description: Checks if the list is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /*
+     * Method name: get()
+     * Parameters: int i - The index of the move
+     * Return type: int - The packed move at the index
+     * Description: Accessor method for a move.
+     */
+    public int get(int i) {
+        return moves[i];
+    }
+
+    /*
+     * Method name: set()
+     * Parameters: int i - The index of the move
+     * int move - The new packed move
+     * Description: Mutator method for a move.
+     */
+    public void set(int i, int move) {
+        moves[i] = move;
+    }
+
+    /*
+     * Method name: add()
+     * Parameters: int move - The packed move to append
+     * Description: Appends a move to the list.
+     */
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    /*
+     * Method name: clear()
+     * Description: Removes all moves without releasing the buffer.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /*
+     * Method name: swap()
+     * Parameters: int i, int j - The indexes of the moves to swap
+     * Description: Swaps two moves in the list.
+     */
+    public void swap(int i, int j) {
+        int tmp = moves[i];
+        moves[i] = moves[j];
+        moves[j] = tmp;
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.*;
+
+/*
+ * Program name: MoveOrderer
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class that sorts the moves of a search node so the
+ * ones most likely to cause a cutoff come first. The stored best move comes
+ * first, then the killer moves that caused cutoffs at the same ply, then the
+ * rest by a history score learned from earlier cutoffs plus a static score of
+ * the piece size and the corners the move gains and takes away. The history
+ * is kept per player and placement, which names the piece, orientation and
+ * square, and is halved between searches so old results fade.
+ */
+
+public class MoveOrderer {
+    // Killer moves kept per ply
+    private static final int KILLERS = 2;
+
+    // Score bands: the stored move, then killers, then everything else
+    private static final int FIRST_SCORE = Integer.MAX_VALUE;
+    private static final int KILLER_SCORE = 1 << 30;
+
+    // History scores are halved once one reaches this
+    private static final int HISTORY_LIMIT = 1 << 24;
+
+    // Weights of the static score
+    private static final int POINT_WEIGHT = 8;
+    private static final int GAINED_WEIGHT = 2;
+    private static final int TAKEN_WEIGHT = 3;
+
+    // Squares of the board in each row lane
+    private static final long LANE = (1L << BlokusDuo.BOARD_SIZE) - 1;
+
+    private final int[][] history = new int[2][MoveGenerator.MAX_PLACEMENTS];
+    private final int[][] killers = new int[GameState.MAX_PLIES + 1][KILLERS];
+
+    // Scratch space of sort keys
+    private final long[] keys = new long[MoveGenerator.MAX_PLACEMENTS];
+
+    /*
+     * Method name: MoveOrderer
+     * Description: Constructor method for an orderer with nothing learned.
+     */
+    public MoveOrderer() {
+        for (int[] slots : killers) {
+            Arrays.fill(slots, Move.NONE);
+        }
+    }
+
+    /*
+     * Method name: newSearch
+     * Description: Halves the history and forgets the killer moves, which
+     * belonged to the plies of the last search.
+     */
+    public void newSearch() {
+        age();
+        for (int[] slots : killers) {
+            Arrays.fill(slots, Move.NONE);
+        }
+    }
+
+    /*
+     * Method name: order
+     * Parameters: MoveList moves - The moves to sort
+     * int first - The move to search first, or Move.NONE
+     * int ply - The distance from the root
+     * BitBoard bits - The game board
+     * int p - The player to move
+     * Description: Sorts the moves from the highest score to the lowest.
+     */
+    public void order(MoveList moves, int first, int ply, BitBoard bits, int p) {
+        // Declare variables
+        int[] slots = killers[ply];
+        int move, score;
+
+        for (int i = 0; i < moves.size(); i++) {
+            move = moves.get(i);
+            if (move == first) {
+                score = FIRST_SCORE;
+            } else if (move == slots[0]) {
+                score = KILLER_SCORE + 1;
+            } else if (move == slots[1]) {
+                score = KILLER_SCORE;
+            } else {
+                score = history[p][Move.placement(move)] + prior(bits, p, move);
+            }
+
+            // Highest score first, then by packed move value
+            keys[i] = (long) -score << 32 | move;
+        }
+
+        Arrays.sort(keys, 0, moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            moves.set(i, (int) keys[i]);
+        }
+    }
+
+    /*
+     * Method name: cutoff
+     * Parameters: int move - The move that caused a cutoff
+     * int depth - The number of plies that were left to search
+     * int ply - The distance from the root
+     * int p - The player who made the move
+     * Description: Remembers the move as a killer of the ply and raises its
+     * history score, more so for deeper searches.
+     */
+    public void cutoff(int move, int depth, int ply, int p) {
+        // Declare variables
+        int[] slots = killers[ply];
+
+        if (slots[0] != move) {
+            slots[1] = slots[0];
+            slots[0] = move;
+        }
+
+        history[p][Move.placement(move)] += depth * depth;
+        if (history[p][Move.placement(move)] >= HISTORY_LIMIT) {
+            age();
+        }
+    }
+
+    /*
+     * Method name: prior
+     * Parameters: BitBoard bits - The game board
+     * int p - The player to move
+     * int move - The packed move
+     * Return type: int - The static score of the move
+     * Description: Scores a move by its size, the new corners it opens for the
+     * player and the opponent's corners it covers.
+     */
+    private int prior(BitBoard bits, int p, int move) {
+        // Declare variables
+        Orientation o = Move.orientation(move);
+        int[] rowMasks = o.getRowMasks(), cornerMasks = o.getCornerMasks();
+        long[] forbidden = bits.getForbidden(p), corners = bits.getCorners(p);
+        long[] opponentCorners = bits.getCorners(1 - p);
+        int r = Move.row(move), c = Move.col(move), gained = 0, taken = 0, i;
+        long lane;
+
+        // The corner masks start one row above and one column left of the tile
+        for (int k = 0; k < cornerMasks.length; k++) {
+            i = r - 1 + k;
+            if (i < 0 || i >= BlokusDuo.BOARD_SIZE) {
+                continue;
+            }
+
+            lane = c == 0 ? cornerMasks[k] >>> 1 : (long) cornerMasks[k] << (c - 1);
+            gained += Long.bitCount(lane & LANE & ~(BitBoard.row(forbidden, i) | BitBoard.row(corners, i)));
+            if (k >= 1 && k <= o.getRows()) {
+                taken += Long.bitCount(((long) rowMasks[k - 1] << c) & BitBoard.row(opponentCorners, i));
+            }
+        }
+
+        return POINT_WEIGHT * o.getSize() + GAINED_WEIGHT * gained + TAKEN_WEIGHT * taken;
+    }
+
+    /*
+     * Method name: age
+     * Description: Halves every history score.
+     */
+    private void age() {
+        for (int[] scores : history) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] >>= 1;
+            }
+        }
+    }
+}
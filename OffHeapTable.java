@@ -0,0 +1,139 @@
+import java.io.*;
+import java.lang.invoke.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+/*
+ * Program name: OffHeapTable
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a transposition table stored outside the Java
+ * heap, in direct buffers or in a memory-mapped file. The garbage collector
+ * never scans the table, so even very large tables do not slow it down, and a
+ * mapped table keeps its entries between runs since Zobrist keys never change.
+ */
+
+public class OffHeapTable extends TranspositionTable {
+    // Aligned long access to the buffers in native byte order
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    // Each buffer holds 2^CHUNK_BITS bytes, since a buffer is indexed by int
+    private static final int CHUNK_BITS = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+    private final ByteBuffer[] chunks;
+
+    /*
+     * Method name: OffHeapTable
+     * Parameters: int sizeBits - The log2 of the number of entries
+     * Description: Constructor method for an empty table in direct memory.
+     */
+    public OffHeapTable(int sizeBits) {
+        super(sizeBits);
+
+        // Declare variables
+        long bytes = longs(sizeBits) * Long.BYTES;
+
+        chunks = new ByteBuffer[chunkCount(bytes)];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkSize(bytes, i));
+        }
+    }
+
+    /*
+     * Method name: OffHeapTable
+     * Parameters: int sizeBits - The log2 of the number of entries
+     * Path file - The file to map the table to; created if it does not exist
+     * Description: Constructor method for a table mapped to a file. Entries
+     * already in the file are kept.
+     */
+    public OffHeapTable(int sizeBits, Path file) throws IOException {
+        super(sizeBits);
+
+        // Declare variables
+        long bytes = longs(sizeBits) * Long.BYTES;
+
+        chunks = new ByteBuffer[chunkCount(bytes)];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE)) {
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << CHUNK_BITS,
+                        chunkSize(bytes, i));
+            }
+        }
+    }
+
+    /*
+     * Method name: read
+     * Parameters: long index - The index of the long
+     * Return type: long - The long at the index
+     * Description: Reads one long of the table.
+     */
+    protected long read(long index) {
+        // Declare variables
+        long offset = index * Long.BYTES;
+
+        return (long) LONGS.get(chunks[(int) (offset >>> CHUNK_BITS)], (int) (offset & CHUNK_MASK));
+    }
+
+    /*
+     * Method name: write
+     * Parameters: long index - The index of the long
+     * long value - The long to store
+     * Description: Writes one long of the table.
+     */
+    protected void write(long index, long value) {
+        // Declare variables
+        long offset = index * Long.BYTES;
+
+        LONGS.set(chunks[(int) (offset >>> CHUNK_BITS)], (int) (offset & CHUNK_MASK), value);
+    }
+
+    /*
+     * Method name: clear
+     * Description: Removes every entry.
+     */
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i += Long.BYTES) {
+                LONGS.set(chunk, i, 0L);
+            }
+        }
+    }
+
+    /*
+     * Method name: flush
+     * Description: Writes a mapped table back to its file. Does nothing for a
+     * table in direct memory.
+     */
+    public void flush() {
+        for (ByteBuffer chunk : chunks) {
+            if (chunk instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) chunk).force();
+            }
+        }
+    }
+
+    /*
+     * Method name: chunkCount
+     * Parameters: long bytes - The size of the table in bytes
+     * Return type: int - The number of buffers needed
+     * Description: Splits a table into buffers.
+     */
+    private static int chunkCount(long bytes) {
+        return (int) ((bytes + CHUNK_MASK) >>> CHUNK_BITS);
+    }
+
+    /*
+     * Method name: chunkSize
+     * Parameters: long bytes - The size of the table in bytes
+     * int i - The index of the buffer
+     * Return type: int - The size of the buffer in bytes
+     * Description: Sizes a buffer; only the last one can be smaller than the rest.
+     */
+    private static int chunkSize(long bytes, int i) {
+        return (int) Math.min(bytes - ((long) i << CHUNK_BITS), 1L << CHUNK_BITS);
+    }
+}
@@ -0,0 +1,213 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+ * Program name: OpeningBook
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for a book of precomputed moves for the first
+ * plies of the game, when the tree is widest and searching is least useful.
+ * The book file is a list of entries sorted by Zobrist key, each the key then
+ * the packed move, and is memory-mapped so a probe is a binary search with no
+ * loading. Positions are stored under their canonical key, so the mirror
+ * images of a position share one entry, and moves are mapped back through
+ * the position's symmetry. Running the class builds a book with a deep
+ * search of every position the bot can face in the opening.
+ */
+
+public class OpeningBook {
+    // Entry layout: the Zobrist key (8 bytes), then the packed move (4 bytes)
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    // Book built when no options are given: every first move of player 1, up
+    // to symmetry, and the reply of player 2, searched for 1 second each
+    private static final int DEFAULT_PLIES = 2;
+    private static final long DEFAULT_TIME = 1000;
+
+    // Move generation for the builder
+    private static final MoveGenerator GENERATOR = new MoveGenerator();
+
+    // Null for an empty book
+    private final ByteBuffer entries;
+    private final int size;
+
+    /*
+     * Method name: OpeningBook
+     * Description: Constructor method for an empty book.
+     */
+    public OpeningBook() {
+        entries = null;
+        size = 0;
+    }
+
+    /*
+     * Method name: OpeningBook
+     * Parameters: Path file - The book file to map
+     * Description: Constructor method for a book read from a file.
+     */
+    public OpeningBook(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        size = entries.capacity() / ENTRY_BYTES;
+    }
+
+    /*
+     * Method name: load
+     * Parameters: Path file - The book file to map
+     * Return type: OpeningBook - The book, or an empty book if the file is
+     * missing or cannot be read
+     * Description: Opens a book without failing, since the bot can play
+     * without one.
+     */
+    public static OpeningBook load(Path file) {
+        try {
+            return new OpeningBook(file);
+        } catch (IOException e) {
+            return new OpeningBook();
+        }
+    }
+
+    /*
+     * Method name: size()
+     * Return type: int - The number of positions in the book
+     * Description: Accessor method for the size attribute.
+     */
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Method name: probe
+     * Parameters: GameState position - The position to look up
+     * Return type: int - The book move, or Move.NONE if the position is not in
+     * the book
+     * Description: Binary searches the entries for the position's key. The move
+     * is checked to use an unused piece and to be legal, so a key collision
+     * cannot play an illegal move.
+     */
+    public int probe(GameState position) {
+        // Declare variables
+        long key = position.getCanonicalHash(), found;
+        int side = position.getSideToMove(), low = 0, high = size - 1, mid, move;
+
+        while (low <= high) {
+            mid = (low + high) >>> 1;
+            found = entries.getLong(mid * ENTRY_BYTES);
+
+            if (found < key) {
+                low = mid + 1;
+            } else if (found > key) {
+                high = mid - 1;
+            } else {
+                move = Symmetry.move(position.getSymmetry(), entries.getInt(mid * ENTRY_BYTES + Long.BYTES));
+
+                // The piece must still be unused, and the tile must fit
+                if ((position.getPieces(side) & (1 << Move.pieceId(move))) != 0
+                        && MoveGenerator.isLegal(position.getBits(), side, move)) {
+                    return move;
+                }
+                return Move.NONE;
+            }
+        }
+
+        return Move.NONE;
+    }
+
+    /*
+     * Method name: write
+     * Parameters: Map<Long, Integer> book - The move for each Zobrist key
+     * Path file - The book file to write; overwritten if it exists
+     * Description: Writes a book file with the entries sorted by key.
+     */
+    public static void write(Map<Long, Integer> book, Path file) throws IOException {
+        // Declare variables
+        TreeMap<Long, Integer> sorted = new TreeMap<>(book);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+        }
+    }
+
+    /*
+     * Method name: build
+     * Parameters: GameState state - The position to build from; restored after
+     * int plies - The number of plies to cover from the position
+     * int bookSide - The player the book plays for
+     * AlphaBeta searcher - The search to find book moves with
+     * long timeLimit - The time to search each position for in milliseconds
+     * Map<Long, Integer> book - The moves found so far, added to
+     * Description: Searches the book player's move and follows only it, and
+     * follows every move of the other player, so every line the other player
+     * can choose is covered. Mirror images of a searched position are not
+     * searched again.
+     */
+    private static void build(GameState state, int plies, int bookSide, AlphaBeta searcher, long timeLimit,
+            Map<Long, Integer> book) {
+        // Declare variables
+        MoveList list = new MoveList();
+        Integer move;
+        long key = state.getCanonicalHash();
+        int symmetry = state.getSymmetry();
+
+        if (plies == 0) {
+            return;
+        }
+
+        if (state.getSideToMove() == bookSide) {
+            // The same position can be reached by more than one line
+            move = book.get(key);
+            if (move == null) {
+                move = Symmetry.move(symmetry, searcher.findMove(state, timeLimit));
+                book.put(key, move);
+                if (book.size() % 50 == 0) {
+                    System.out.println(book.size() + " positions searched...");
+                }
+            }
+
+            state.makeMove(Symmetry.move(symmetry, move));
+            build(state, plies - 1, bookSide, searcher, timeLimit, book);
+            state.unmakeMove();
+        } else {
+            state.generateMoves(GENERATOR, list);
+            for (int i = 0; i < list.size(); i++) {
+                state.makeMove(list.get(i));
+                build(state, plies - 1, bookSide, searcher, timeLimit, book);
+                state.unmakeMove();
+            }
+        }
+    }
+
+    /*
+     * Method name: main
+     * Parameters: String[] args - The book file to write, then optionally the
+     * number of plies to cover and the time per position in milliseconds
+     * Description: Builds a book for player 2, the side the bot plays.
+     */
+    public static void main(String[] args) {
+        // Declare variables
+        Map<Long, Integer> book = new HashMap<>();
+        int plies = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLIES;
+        long timeLimit = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_TIME;
+
+        if (args.length == 0) {
+            System.out.println("Usage: java OpeningBook <file> [plies] [milliseconds per position]");
+            return;
+        }
+
+        build(new GameState(), plies, BitBoard.P2_INDEX, new AlphaBeta(), timeLimit, book);
+
+        try {
+            write(book, Paths.get(args[0]));
+            System.out.println("Wrote " + book.size() + " positions to " + args[0] + ".");
+        } catch (IOException e) {
+            System.out.println(e + " Problem writing file.");
+        }
+    }
+}
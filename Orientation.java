@@ -0,0 +1,191 @@
+/*
+ * Program name: Orientation
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class for one unique rotation/flip of a Blokus tile.
+ * Orientations are immutable and shared through the PieceTable.
+ */
+
+public class Orientation {
+    private final int id;
+    private final int pieceId;
+    private final int rows;
+    private final int cols;
+    private final int[] rowMasks;
+    private final int[] cellR;
+    private final int[] cellC;
+    private final int[] edgeMasks;
+    private final int[] cornerMasks;
+
+    /*
+     * Method name: Orientation
+     * Parameters: int id - The index of the orientation in the table
+     * int pieceId - The index of the piece the orientation belongs to
+     * int rows - The length of the orientation
+     * int cols - The width of the orientation
+     * int[] rowMasks - The squares of the orientation, one bit mask per row
+     * Description: Constructor method that derives the cell offsets and the
+     * edge and corner masks from the row masks.
+     */
+    public Orientation(int id, int pieceId, int rows, int cols, int[] rowMasks) {
+        // Declare variables
+        int size = 0, idx = 0, neighbours;
+
+        this.id = id;
+        this.pieceId = pieceId;
+        this.rows = rows;
+        this.cols = cols;
+        this.rowMasks = rowMasks;
+
+        // Count squares
+        for (int mask : rowMasks) {
+            size += Integer.bitCount(mask);
+        }
+
+        // Get cell offsets
+        cellR = new int[size];
+        cellC = new int[size];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if ((rowMasks[i] & (1 << j)) != 0) {
+                    cellR[idx] = i;
+                    cellC[idx] = j;
+                    idx++;
+                }
+            }
+        }
+
+        // Edge and corner masks cover a border of one square around the tile,
+        // so row i and column j of the masks are row i - 1 and column j - 1 of
+        // the tile
+        edgeMasks = new int[rows + 2];
+        cornerMasks = new int[rows + 2];
+        for (int i = 0; i < rows + 2; i++) {
+            // Squares next to the tile in the same row, or above/below it
+            neighbours = shiftedRow(i - 1) << 1 | shiftedRow(i - 1) >>> 1 | shiftedRow(i - 2) | shiftedRow(i);
+            edgeMasks[i] = neighbours & ~shiftedRow(i - 1);
+
+            // Diagonal squares that are not next to or under the tile
+            neighbours = shiftedRow(i - 2) << 1 | shiftedRow(i - 2) >>> 1 | shiftedRow(i) << 1
+                    | shiftedRow(i) >>> 1;
+            cornerMasks[i] = neighbours & ~edgeMasks[i] & ~shiftedRow(i - 1);
+        }
+    }
+
+    /*
+     * Method name: shiftedRow
+     * Parameters: int r - The row of the tile
+     * Return type: int - The row mask moved one column right, or 0 outside the
+     * tile
+     * Description: Helper for building the border masks.
+     */
+    private int shiftedRow(int r) {
+        return r >= 0 && r < rows ? rowMasks[r] << 1 : 0;
+    }
+
+    /*
+     * Method name: getId()
+     * Return type: int - The index of the orientation in the table
+     * Description: Accessor method for the id attribute.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /*
+     * Method name: getPieceId()
+     * Return type: int - The index of the piece
+     * Description: Accessor method for the pieceId attribute.
+     */
+    public int getPieceId() {
+        return pieceId;
+    }
+
+    /*
+     * Method name: getRows()
+     * Return type: int - The length of the orientation
+     * Description: Accessor method for the rows attribute.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /*
+     * Method name: getCols()
+     * Return type: int - The width of the orientation
+     * Description: Accessor method for the cols attribute.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /*
+     * Method name: getSize()
+     * Return type: int - The number of squares in the orientation
+     * Description: Accessor method for the number of cells.
+     */
+    public int getSize() {
+        return cellR.length;
+    }
+
+    /*
+     * Method name: getRowMasks()
+     * Return type: int[] - The squares of the orientation, one bit mask per row
+     * Description: Accessor method for the rowMasks attribute.
+     */
+    public int[] getRowMasks() {
+        return rowMasks;
+    }
+
+    /*
+     * Method name: getCellR()
+     * Return type: int[] - The row offsets of each square
+     * Description: Accessor method for the cellR attribute.
+     */
+    public int[] getCellR() {
+        return cellR;
+    }
+
+    /*
+     * Method name: getCellC()
+     * Return type: int[] - The column offsets of each square
+     * Description: Accessor method for the cellC attribute.
+     */
+    public int[] getCellC() {
+        return cellC;
+    }
+
+    /*
+     * Method name: getEdgeMasks()
+     * Return type: int[] - The squares sharing an edge with the orientation,
+     * offset by one row and column
+     * Description: Accessor method for the edgeMasks attribute.
+     */
+    public int[] getEdgeMasks() {
+        return edgeMasks;
+    }
+
+    /*
+     * Method name: getCornerMasks()
+     * Return type: int[] - The squares touching only a corner of the
+     * orientation, offset by one row and column
+     * Description: Accessor method for the cornerMasks attribute.
+     */
+    public int[] getCornerMasks() {
+        return cornerMasks;
+    }
+
+    /*
+     * Method name: toSquares()
+     * Return type: boolean[][] - A new squares grid of the orientation
+     * Description: Converts the orientation into the grid used by Tile.
+     */
+    public boolean[][] toSquares() {
+        boolean[][] squares = new boolean[rows][cols];
+
+        for (int i = 0; i < cellR.length; i++) {
+            squares[cellR[i]][cellC[i]] = true;
+        }
+        return squares;
+    }
+}
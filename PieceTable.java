@@ -0,0 +1,157 @@
+import java.util.*;
+
+/*
+ * Program name: PieceTable
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Static table of the unique orientations of all 21 pieces. The
+ * table is built once from Tile.newTileSet() so move generation never has to
+ * rotate or flip a Tile.
+ */
+
+public class PieceTable {
+    // Piece names, ordered by size as in the tile display
+    public static final String[] NAMES = { "I1", "I2", "I3", "V3", "O", "T4", "L4", "Z4", "I4", "F", "X", "P", "W",
+            "Z5", "U", "T5", "V5", "N", "Y", "L5", "I5" };
+    public static final int PIECES = NAMES.length;
+
+    // Point value of each piece
+    private static final int[] POINTS = new int[PIECES];
+
+    // All unique orientations, grouped by piece
+    private static final Orientation[] ORIENTATIONS;
+
+    // Orientation ids of each piece
+    private static final int[][] PIECE_ORIENTATIONS = new int[PIECES][];
+
+    static {
+        // Declare variables
+        Map<String, Tile> tiles = Tile.newTileSet();
+        ArrayList<Orientation> orientations = new ArrayList<>();
+        ArrayList<Integer> pieceIds = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Tile tile;
+        String key;
+
+        for (int p = 0; p < PIECES; p++) {
+            tile = tiles.get(NAMES[p]);
+            POINTS[p] = tile.getPoints();
+            seen.clear();
+            pieceIds.clear();
+
+            // Rotate four times, then flip and rotate four more times
+            for (int k = 0; k < 8; k++) {
+                if (k == 4) {
+                    tile.flipVert();
+                }
+                tile.rotateRight();
+
+                // Only keep orientations that have not been seen yet
+                key = Arrays.toString(tile.getRowMasks()) + tile.getCols();
+                if (seen.add(key)) {
+                    pieceIds.add(orientations.size());
+                    orientations.add(new Orientation(orientations.size(), p, tile.getRows(), tile.getCols(),
+                            tile.getRowMasks()));
+                }
+            }
+
+            // Store orientation ids for the piece
+            PIECE_ORIENTATIONS[p] = new int[pieceIds.size()];
+            for (int i = 0; i < pieceIds.size(); i++) {
+                PIECE_ORIENTATIONS[p][i] = pieceIds.get(i);
+            }
+        }
+
+        ORIENTATIONS = orientations.toArray(new Orientation[0]);
+    }
+
+    /*
+     * Method name: size
+     * Return type: int - The number of unique orientations
+     * Description: Returns the size of the orientation table.
+     */
+    public static int size() {
+        return ORIENTATIONS.length;
+    }
+
+    /*
+     * Method name: get
+     * Parameters: int id - The orientation id
+     * Return type: Orientation - The orientation with the given id
+     * Description: Looks up an orientation.
+     */
+    public static Orientation get(int id) {
+        return ORIENTATIONS[id];
+    }
+
+    /*
+     * Method name: getOrientations
+     * Parameters: int pieceId - The index of the piece
+     * Return type: int[] - The orientation ids of the piece
+     * Description: Lists the unique orientations of a piece.
+     */
+    public static int[] getOrientations(int pieceId) {
+        return PIECE_ORIENTATIONS[pieceId];
+    }
+
+    /*
+     * Method name: getPoints
+     * Parameters: int pieceId - The index of the piece
+     * Return type: int - The point value of the piece
+     * Description: Looks up the point value of a piece.
+     */
+    public static int getPoints(int pieceId) {
+        return POINTS[pieceId];
+    }
+
+    /*
+     * Method name: getName
+     * Parameters: int pieceId - The index of the piece
+     * Return type: String - The name of the piece
+     * Description: Looks up the name of a piece.
+     */
+    public static String getName(int pieceId) {
+        return NAMES[pieceId];
+    }
+
+    /*
+     * Method name: pieceIndex
+     * Parameters: String name - The name of the piece
+     * Return type: int - The index of the piece, or -1 if not found
+     * Description: Finds the index of a piece by its name.
+     */
+    public static int pieceIndex(String name) {
+        // Declare variables
+        int idx = -1;
+
+        for (int i = 0; i < PIECES && idx == -1; i++) {
+            if (NAMES[i].equals(name))
+                idx = i;
+        }
+
+        return idx;
+    }
+
+    /*
+     * Method name: findOrientation
+     * Parameters: int pieceId - The index of the piece
+     * Tile tile - The tile in its current orientation
+     * Return type: int - The orientation id matching the tile, or -1 if not
+     * found
+     * Description: Matches a rotated or flipped Tile with its table entry.
+     */
+    public static int findOrientation(int pieceId, Tile tile) {
+        // Declare variables
+        int idx = -1;
+        int[] rowMasks = tile.getRowMasks();
+
+        for (int id : PIECE_ORIENTATIONS[pieceId]) {
+            if (idx == -1 && ORIENTATIONS[id].getCols() == tile.getCols()
+                    && Arrays.equals(ORIENTATIONS[id].getRowMasks(), rowMasks)) {
+                idx = id;
+            }
+        }
+
+        return idx;
+    }
+}
@@ -0,0 +1,204 @@
+import java.util.*;
+
+/*
+ * Program name: Regions
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Instance class that splits the squares each player can still
+ * reach into regions that cannot affect each other. A player's reach grows
+ * from their corners through the empty squares they may cover, joining
+ * squares that share an edge or a corner, since every later tile must cover
+ * a square diagonal to an earlier one. A tile placed in one region can then
+ * neither cover nor touch a square of another region. Each region is
+ * labelled with the player whose corners it holds.
+ */
+
+public class Regions {
+    // Every region holds at least one corner square
+    private static final int MAX_REGIONS = 2 * BitBoard.CELLS;
+
+    // Region masks, and the union of each region with the later regions of the
+    // same player
+    private final long[][] masks = new long[MAX_REGIONS][BitBoard.WORDS];
+    private final long[][] suffixes = new long[MAX_REGIONS][BitBoard.WORDS];
+
+    // The player of each region, and where each player's regions start
+    private final int[] owners = new int[MAX_REGIONS];
+    private final int[] starts = new int[3];
+
+    // Scratch masks for the flood fill
+    private final long[] usable = new long[BitBoard.WORDS];
+    private final long[] reach = new long[BitBoard.WORDS];
+    private final long[] edges = new long[BitBoard.WORDS];
+    private final long[] diagonals = new long[BitBoard.WORDS];
+
+    /*
+     * Method name: first
+     * Parameters: int p - The player index
+     * Return type: int - The index of the player's first region
+     * Description: Accessor method for the starts attribute.
+     */
+    public int first(int p) {
+        return starts[p];
+    }
+
+    /*
+     * Method name: end
+     * Parameters: int p - The player index
+     * Return type: int - One past the index of the player's last region
+     * Description: Accessor method for the starts attribute.
+     */
+    public int end(int p) {
+        return starts[p + 1];
+    }
+
+    /*
+     * Method name: getMask
+     * Parameters: int i - The index of the region
+     * Return type: long[] - The squares of the region
+     * Description: Accessor method for the masks attribute.
+     */
+    public long[] getMask(int i) {
+        return masks[i];
+    }
+
+    /*
+     * Method name: getOwner
+     * Parameters: int i - The index of the region
+     * Return type: int - The player whose corners are in the region
+     * Description: Accessor method for the owners attribute.
+     */
+    public int getOwner(int i) {
+        return owners[i];
+    }
+
+    /*
+     * Method name: isApart
+     * Parameters: BitBoard bits - The game board
+     * Return type: boolean - Whether or not no square can be reached by both
+     * players
+     * Description: Grows the reach of both players from all their corners at
+     * once, and stops as soon as the second reaches a square of the first.
+     */
+    public boolean isApart(BitBoard bits) {
+        grow(bits, BitBoard.P1_INDEX, bits.getCorners(BitBoard.P1_INDEX), reach, null);
+
+        return grow(bits, BitBoard.P2_INDEX, bits.getCorners(BitBoard.P2_INDEX), masks[0], reach);
+    }
+
+    /*
+     * Method name: compute
+     * Parameters: BitBoard bits - The game board
+     * Description: Splits each player's reach into regions, one seed corner at
+     * a time. The first player's regions come first.
+     */
+    public void compute(BitBoard bits) {
+        // Declare variables
+        long[] region;
+        int count = 0, seed;
+
+        for (int p = 0; p < 2; p++) {
+            starts[p] = count;
+            System.arraycopy(bits.getCorners(p), 0, reach, 0, BitBoard.WORDS);
+
+            while (!BitBoard.isZero(reach)) {
+                // Grow a region from the lowest corner left
+                seed = BitBoard.nthBit(reach, 0);
+                region = masks[count];
+                Arrays.fill(region, 0);
+                region[seed >>> 6] = 1L << (seed & 63);
+                grow(bits, p, region, region, null);
+
+                // Its other corners belong to it too
+                for (int w = 0; w < BitBoard.WORDS; w++) {
+                    reach[w] &= ~region[w];
+                }
+                owners[count++] = p;
+            }
+        }
+        starts[2] = count;
+
+        // Unions of each player's later regions
+        for (int i = count - 1; i >= 0; i--) {
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                suffixes[i][w] = masks[i][w];
+                if (i + 1 < starts[owners[i] + 1]) {
+                    suffixes[i][w] |= suffixes[i + 1][w];
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: key
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * int pieces - Bit mask of the player's piece ids left
+     * int i - The index of the player's first region to include
+     * Return type: long - A key for what the player can still place in the
+     * region and the player's regions after it
+     * Description: Hashes only the squares of the regions and the player's
+     * inventory, so the same pocket reached with different tiles elsewhere on
+     * the board shares the key.
+     */
+    public long key(BitBoard bits, int p, int pieces, int i) {
+        // Declare variables
+        long[] suffix = suffixes[i], forbidden = bits.getForbidden(p), corners = bits.getCorners(p);
+        long[] opponent = bits.getOccupied(1 - p), own = bits.getOccupied(p);
+        long key = Zobrist.mix(((long) pieces << 1 | p) + 0x9E3779B97F4A7C15L);
+
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            key = Zobrist.mix(key ^ (suffix[w] & ~(own[w] | opponent[w] | forbidden[w])));
+            key = Zobrist.mix(key ^ (suffix[w] & corners[w]));
+        }
+
+        return key;
+    }
+
+    /*
+     * Method name: grow
+     * Parameters: BitBoard bits - The game board
+     * int p - The player index
+     * long[] seeds - The squares to start from
+     * long[] dst - The mask to write the reach to; may be the seeds
+     * long[] avoid - Squares that end the fill early if reached, or null
+     * Return type: boolean - False if the fill reached a square to avoid
+     * Description: Grows the seeds through the empty squares the player may
+     * cover, a whole ring at a time, until nothing is added.
+     */
+    private boolean grow(BitBoard bits, int p, long[] seeds, long[] dst, long[] avoid) {
+        // Declare variables
+        long[] forbidden = bits.getForbidden(p);
+        boolean grew;
+        long grown;
+
+        bits.empty(usable);
+        for (int w = 0; w < BitBoard.WORDS; w++) {
+            usable[w] &= ~forbidden[w];
+            dst[w] = seeds[w];
+        }
+
+        do {
+            if (avoid != null) {
+                for (int w = 0; w < BitBoard.WORDS; w++) {
+                    if ((dst[w] & avoid[w]) != 0) {
+                        return false;
+                    }
+                }
+            }
+
+            BitBoard.adjacent(dst, edges);
+            BitBoard.diagonal(dst, diagonals);
+            grew = false;
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                grown = (edges[w] | diagonals[w]) & usable[w] & ~dst[w];
+                if (grown != 0) {
+                    dst[w] |= grown;
+                    grew = true;
+                }
+            }
+        } while (grew);
+
+        return true;
+    }
+}
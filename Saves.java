@@ -23,11 +23,11 @@ public class Saves {
      * Map<String,Tile> - The tiles used by player 1.
      * int p2Score - The score of player 2.
      * Map<String,Tile> - The tiles used by player 2.
-     * boolean isHard - The difficulty of the game.
+     * int difficulty - The difficulty of the game.
      * Description: Writes the given game information to a new save file. If the file already exists, it will be overwritten.
      */
     public static void writeSave(String saveName, char[][] board, int p1Score, Map<String, Tile> p1Tiles, int p2Score,
-            Map<String, Tile> p2Tiles, boolean isHard) throws IOException {
+            Map<String, Tile> p2Tiles, int difficulty) throws IOException {
         // Declare variables and constants
         final String FILE_NAME = "./saves/" + saveName + ".txt";
 
@@ -90,7 +90,7 @@ public class Saves {
             // Write difficulty
             bw.write("Difficulty");
             bw.newLine();
-            bw.write((isHard ? "Hard" : "Easy"));
+            bw.write(BlokusDuo.DIFFICULTIES[difficulty]);
             bw.newLine();
             bw.write(SAVE_DELIMITER);
         }
@@ -170,11 +170,12 @@ public class Saves {
         return tileSet;
     }
 
-    public static boolean getDifficulty(String saveName) throws IOException {
+    public static int getDifficulty(String saveName) throws IOException {
         // Declare variables and constants
         final String FILE_NAME = "./saves/" + saveName + ".txt";
         String line;
-        boolean reading = true, isHard = false;
+        boolean reading = true;
+        int difficulty = BlokusDuo.EASY;
 
         // Read file
         try (BufferedReader br = new BufferedReader(new FileReader(FILE_NAME))) {
@@ -184,13 +185,17 @@ public class Saves {
 
                 // Get difficulty
                 if (line.equals("Difficulty")) {
-                    isHard = br.readLine().equals("Hard");
+                    line = br.readLine();
+                    for (int i = 0; i < BlokusDuo.DIFFICULTIES.length; i++) {
+                        if (line.equals(BlokusDuo.DIFFICULTIES[i]))
+                            difficulty = i;
+                    }
                     reading = false;
                 }
             }
         }
 
-        return isHard;
+        return difficulty;
     }
 
     /*
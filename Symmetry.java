@@ -0,0 +1,197 @@
+import java.util.*;
+
+/*
+ * Program name: Symmetry
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Class that contains the symmetries of the board. Reflecting
+ * across either diagonal or rotating by 180 degrees keeps the pair of
+ * starting positions, and both players may start on either one, so each of
+ * these transforms turns a position into one that plays exactly the same.
+ * Every transform is its own inverse. Squares and moves are mapped through
+ * precomputed tables.
+ */
+
+public class Symmetry {
+    // Transforms
+    public static final int IDENTITY = 0;
+    public static final int TRANSPOSE = 1;
+    public static final int ROTATE = 2;
+    public static final int ANTI_TRANSPOSE = 3;
+    public static final int COUNT = 4;
+
+    // Bit index each square moves to, per transform
+    private static final int[][] SQUARES = new int[COUNT][BitBoard.CELLS];
+
+    // Orientation id each orientation becomes, per transform
+    private static final int[][] ORIENTATIONS = new int[COUNT][PieceTable.size()];
+
+    // Placement key each placement on the board becomes, per transform
+    private static final int[][] PLACEMENTS = new int[COUNT][MoveGenerator.MAX_PLACEMENTS];
+
+    static {
+        // Declare variables
+        Orientation o;
+        int[] rowMasks;
+        int rows, cols, r, c, move;
+
+        // Squares
+        for (int t = 0; t < COUNT; t++) {
+            for (int i = 0; i < BlokusDuo.BOARD_SIZE; i++) {
+                for (int j = 0; j < BlokusDuo.BOARD_SIZE; j++) {
+                    SQUARES[t][BitBoard.bitIndex(i, j)] = BitBoard.bitIndex(row(t, i, j), col(t, i, j));
+                }
+            }
+        }
+
+        // Orientations: transform the squares of the tile inside its own
+        // bounding box, then find the orientation with the same shape
+        for (int t = 0; t < COUNT; t++) {
+            for (int id = 0; id < PieceTable.size(); id++) {
+                o = PieceTable.get(id);
+                rows = t == TRANSPOSE || t == ANTI_TRANSPOSE ? o.getCols() : o.getRows();
+                cols = t == TRANSPOSE || t == ANTI_TRANSPOSE ? o.getRows() : o.getCols();
+                rowMasks = new int[rows];
+
+                for (int k = 0; k < o.getSize(); k++) {
+                    r = boxRow(t, o.getCellR()[k], o.getCellC()[k], o.getRows(), o.getCols());
+                    c = boxCol(t, o.getCellR()[k], o.getCellC()[k], o.getRows(), o.getCols());
+                    rowMasks[r] |= 1 << c;
+                }
+
+                for (int match : PieceTable.getOrientations(o.getPieceId())) {
+                    if (PieceTable.get(match).getCols() == cols
+                            && Arrays.equals(PieceTable.get(match).getRowMasks(), rowMasks)) {
+                        ORIENTATIONS[t][id] = match;
+                    }
+                }
+            }
+        }
+
+        // Placements
+        for (int t = 0; t < COUNT; t++) {
+            for (int id = 0; id < PieceTable.size(); id++) {
+                o = PieceTable.get(id);
+                for (r = 0; r + o.getRows() <= BlokusDuo.BOARD_SIZE; r++) {
+                    for (c = 0; c + o.getCols() <= BlokusDuo.BOARD_SIZE; c++) {
+                        move = Move.encode(o.getPieceId(), id, r, c);
+                        PLACEMENTS[t][Move.placement(move)] = Move.placement(transform(t, move));
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: square
+     * Parameters: int t - The transform
+     * int idx - The bit index of a square on the board
+     * Return type: int - The bit index of the square it moves to
+     * Description: Maps a square through a transform.
+     */
+    public static int square(int t, int idx) {
+        return SQUARES[t][idx];
+    }
+
+    /*
+     * Method name: move
+     * Parameters: int t - The transform
+     * int move - The packed move, Move.PASS or Move.NONE
+     * Return type: int - The move that places the transformed tile, or the
+     * same special value
+     * Description: Maps a move through a transform.
+     */
+    public static int move(int t, int move) {
+        return move < 0 ? move : move ^ Move.placement(move) ^ PLACEMENTS[t][Move.placement(move)];
+    }
+
+    /*
+     * Method name: transform
+     * Parameters: int t - The transform
+     * int move - The packed move
+     * Return type: int - The move that places the transformed tile
+     * Description: Builds the placement table. The tile's new row and column
+     * are the corner of its transformed bounding box.
+     */
+    private static int transform(int t, int move) {
+        // Declare variables
+        Orientation o;
+        int r, c, lastR, lastC;
+
+        o = Move.orientation(move);
+        r = Move.row(move);
+        c = Move.col(move);
+        lastR = r + o.getRows() - 1;
+        lastC = c + o.getCols() - 1;
+
+        return Move.encode(Move.pieceId(move), ORIENTATIONS[t][o.getId()],
+                Math.min(row(t, r, c), row(t, lastR, lastC)), Math.min(col(t, r, c), col(t, lastR, lastC)));
+    }
+
+    /*
+     * Method name: row
+     * Parameters: int t - The transform
+     * int r - The row of the square
+     * int c - The column of the square
+     * Return type: int - The row the square moves to
+     * Description: Maps the row of a square through a transform.
+     */
+    private static int row(int t, int r, int c) {
+        return boxRow(t, r, c, BlokusDuo.BOARD_SIZE, BlokusDuo.BOARD_SIZE);
+    }
+
+    /*
+     * Method name: col
+     * Parameters: int t - The transform
+     * int r - The row of the square
+     * int c - The column of the square
+     * Return type: int - The column the square moves to
+     * Description: Maps the column of a square through a transform.
+     */
+    private static int col(int t, int r, int c) {
+        return boxCol(t, r, c, BlokusDuo.BOARD_SIZE, BlokusDuo.BOARD_SIZE);
+    }
+
+    /*
+     * Method name: boxRow
+     * Parameters: int t - The transform
+     * int r, int c - The square inside a box
+     * int rows, int cols - The size of the box
+     * Return type: int - The row the square moves to inside the transformed box
+     * Description: Maps a row through a transform of a box.
+     */
+    private static int boxRow(int t, int r, int c, int rows, int cols) {
+        switch (t) {
+            case TRANSPOSE:
+                return c;
+            case ROTATE:
+                return rows - 1 - r;
+            case ANTI_TRANSPOSE:
+                return cols - 1 - c;
+            default:
+                return r;
+        }
+    }
+
+    /*
+     * Method name: boxCol
+     * Parameters: int t - The transform
+     * int r, int c - The square inside a box
+     * int rows, int cols - The size of the box
+     * Return type: int - The column the square moves to inside the transformed
+     * box
+     * Description: Maps a column through a transform of a box.
+     */
+    private static int boxCol(int t, int r, int c, int rows, int cols) {
+        switch (t) {
+            case TRANSPOSE:
+                return r;
+            case ROTATE:
+                return cols - 1 - c;
+            case ANTI_TRANSPOSE:
+                return rows - 1 - r;
+            default:
+                return c;
+        }
+    }
+}
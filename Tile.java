@@ -2,7 +2,7 @@ import java.util.*;
 /*
  * Program name: Tile
  * Programmer: Raymond Zhang
- * Last modified: 18/06/2024
+ * Last modified: 17/10/2026
  * Description: Instance class for Blokus tiles
  */
 
@@ -109,6 +109,26 @@ public class Tile {
         return squaresCopy;
     }
 
+    /*
+     * Method name: getRowMasks()
+     * Return type: int[] - The squares taken up by the Tile instance, one bit
+     * mask per row
+     * Description: Packs the squares array into row masks for the bitboard.
+     */
+    public int[] getRowMasks() {
+        int[] rowMasks = new int[getRows()];
+
+        // Set a bit for each occupied square in the row
+        for (int i = 0; i < getRows(); i++) {
+            for (int j = 0; j < getCols(); j++) {
+                if (getSquares()[i][j]) {
+                    rowMasks[i] |= 1 << j;
+                }
+            }
+        }
+        return rowMasks;
+    }
+
     /*
      * Method name: isUsed()
      * Return type: boolean - Whether or not the Tile instance has been used in
@@ -320,102 +340,6 @@ public class Tile {
         }
     }
 
-    /*
-     * Method name: getMoves
-     * Parameters: char[][] board - The game board
-     * char player - The character representing the player
-     * Return type: ArrayList<Tile> - A list of Tile instances that can be placed on
-     * the board
-     * Description: Returns a list of valid tile arrangements for each index of the
-     * board and updates the placeable attribute.
-     */
-    public ArrayList<Tile> getMoves(char[][] board, char player) {
-        // Declare variables
-        ArrayList<Tile> moves = new ArrayList<>();
-
-        // Iterate through the board
-        for (int i = 0; i < BlokusDuo.BOARD_SIZE; i++) {
-            for (int j = 0; j < BlokusDuo.BOARD_SIZE; j++) {
-                // Rotate to get all positions
-                for (int k = 0; k < 4; k++) {
-                    rotateRight();
-                    // Check if tile can be placed
-                    if (canPlaceAt(board, i, j, player)) {
-                        moves.add(new Tile(getPoints(), getRows(), getCols(), i, j, getSquaresCopy()));
-                    }
-                }
-
-                // Flip and rotate to get other potential positions
-                flipVert();
-                for (int k = 0; k < 4; k++) {
-                    rotateRight();
-                    // Check if tile can be placed
-                    if (canPlaceAt(board, i, j, player)) {
-                        moves.add(new Tile(getPoints(), getRows(), getCols(), i, j, getSquaresCopy()));
-                    }
-                }
-            }
-        }
-
-        // Return to original orientation
-        flipVert();
-
-        // Update placeable state
-        setPlaceable(!moves.isEmpty());
-
-        return moves;
-    }
-
-    /*
-     * Method name: canPlaceAt
-     * Parameters: char[][] board - The game board
-     * int r - The row of the tile
-     * int c - The column of the tile
-     * char player - The player to check
-     * Return type: boolean - Whether or not the tile can be placed at the specified
-     * row and column
-     * Description: Checks whether or not a tile can be placed at a specified
-     * location.
-     */
-    public boolean canPlaceAt(char[][] board, int r, int c, char player) {
-        // Declare constants and variables
-        final int[][] DIR = { { 0, 1 }, { -1, 0 }, { 0, -1 }, { 1, 0 } };
-        int ni, nj;
-        boolean valid = true, touchesAvail = false;
-        // Tile is out of bounds
-        if (r + getRows() > BlokusDuo.BOARD_SIZE || c + getCols() > BlokusDuo.BOARD_SIZE) {
-            valid = false;
-        } else {
-            // Overlapping other tiles
-            for (int i = r; i < r + getRows() && valid; i++) {
-                for (int j = c; j < c + getCols() && valid; j++) {
-                    if (getSquares()[i - r][j - c]) {
-                        // Occupied area must be empty or an available character ('*')
-                        valid &= board[i][j] == BlokusDuo.EMPTY || board[i][j] == BlokusDuo.AVAIL;
-
-                        // Check if tile touches at least one available character
-                        touchesAvail |= board[i][j] == BlokusDuo.AVAIL;
-
-                        // Loop up/down/left/right directions
-                        for (int k = 0; k < DIR.length && valid; k++) {
-                            // Get new i and j values
-                            ni = i + DIR[k][0];
-                            nj = j + DIR[k][1];
-
-                            // Check if new coordinates are in bounds
-                            if (BlokusDuo.inRange(ni) && BlokusDuo.inRange(nj)) {
-                                // Adjacent tiles should not match the player's
-                                valid &= board[ni][nj] != player;
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        return valid && touchesAvail;
-    }
-
     /*
      * Method name: newTileSet()
      * Return type: Map<String,Tile> - A set of 21 key-value pairs, each
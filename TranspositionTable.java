@@ -0,0 +1,215 @@
+/*
+ * Program name: TranspositionTable
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Abstract class for a fixed-size hash table of search results,
+ * keyed by Zobrist hash and shared by every search thread without locks. Each
+ * entry is a pair of longs: the key XOR the data, then the data. A probe only
+ * trusts an entry if the pair XORs back to its key, so an entry torn by two
+ * threads writing at once is seen as a miss instead of a wrong result.
+ * Subclasses decide where the longs are stored.
+ */
+
+public abstract class TranspositionTable {
+    // Bound types
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    // Returned by probe when the position is not stored
+    public static final long MISS = 0;
+
+    // Data layout: move + 2 (21 bits), score + 32768 (16 bits), depth (8 bits),
+    // bound (2 bits), valid flag (1 bit), age (8 bits)
+    private static final int SCORE_SHIFT = 21;
+    private static final int DEPTH_SHIFT = 37;
+    private static final int BOUND_SHIFT = 45;
+    private static final long VALID = 1L << 47;
+    private static final int AGE_SHIFT = 48;
+
+    // Entries per bucket, and longs per entry
+    private static final int WAYS = 2;
+    private static final int ENTRY_LONGS = 2;
+
+    private final long mask;
+    private int age;
+
+    /*
+     * Method name: TranspositionTable
+     * Parameters: int sizeBits - The log2 of the number of entries
+     * Description: Constructor method for a table of a given size.
+     */
+    protected TranspositionTable(int sizeBits) {
+        mask = (1L << sizeBits) / WAYS - 1;
+    }
+
+    /*
+     * Method name: longs
+     * Parameters: int sizeBits - The log2 of the number of entries
+     * Return type: long - The number of longs the table stores
+     * Description: Calculates the storage a table needs.
+     */
+    public static long longs(int sizeBits) {
+        return (1L << sizeBits) * ENTRY_LONGS;
+    }
+
+    /*
+     * Method name: read
+     * Parameters: long index - The index of the long
+     * Return type: long - The long at the index
+     * Description: Reads one long of the table.
+     */
+    protected abstract long read(long index);
+
+    /*
+     * Method name: write
+     * Parameters: long index - The index of the long
+     * long value - The long to store
+     * Description: Writes one long of the table.
+     */
+    protected abstract void write(long index, long value);
+
+    /*
+     * Method name: clear
+     * Description: Removes every entry.
+     */
+    public abstract void clear();
+
+    /*
+     * Method name: newSearch
+     * Description: Starts a new search, so entries from earlier searches are
+     * replaced first.
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    /*
+     * Method name: probe
+     * Parameters: long key - The Zobrist key of the position
+     * Return type: long - The packed entry, or MISS if not found
+     * Description: Looks up a position.
+     */
+    public long probe(long key) {
+        // Declare variables
+        long base = bucket(key), data;
+
+        for (long i = base; i < base + WAYS * ENTRY_LONGS; i += ENTRY_LONGS) {
+            data = read(i + 1);
+            if ((read(i) ^ data) == key && data != MISS) {
+                return data;
+            }
+        }
+
+        return MISS;
+    }
+
+    /*
+     * Method name: store
+     * Parameters: long key - The Zobrist key of the position
+     * int move - The best move found
+     * int score - The score of the position
+     * int depth - The depth searched
+     * int bound - EXACT, LOWER or UPPER
+     * Description: Stores a search result. The entry for the same position is
+     * overwritten if there is one; otherwise the entry from an older search,
+     * or else the shallower entry, is replaced.
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        // Declare variables
+        long base = bucket(key), victim = base, data;
+        int priority, lowest = Integer.MAX_VALUE;
+
+        for (long i = base; i < base + WAYS * ENTRY_LONGS; i += ENTRY_LONGS) {
+            data = read(i + 1);
+
+            // Same position
+            if ((read(i) ^ data) == key) {
+                victim = i;
+                break;
+            }
+
+            // Prefer replacing old, then shallow entries
+            priority = depth(data) + (age(data) == age ? 256 : 0);
+            if (priority < lowest) {
+                lowest = priority;
+                victim = i;
+            }
+        }
+
+        data = pack(move, score, depth, bound) | ((long) age << AGE_SHIFT);
+        write(victim, key ^ data);
+        write(victim + 1, data);
+    }
+
+    /*
+     * Method name: bucket
+     * Parameters: long key - The Zobrist key of the position
+     * Return type: long - The index of the first long of the position's bucket
+     * Description: Maps a key to a bucket.
+     */
+    private long bucket(long key) {
+        return (key & mask) * WAYS * ENTRY_LONGS;
+    }
+
+    /*
+     * Method name: pack
+     * Parameters: int move, int score, int depth, int bound - The entry fields
+     * Return type: long - The packed entry
+     * Description: Packs the fields of an entry into a long.
+     */
+    public static long pack(int move, int score, int depth, int bound) {
+        return (move + 2L) | ((long) (score + 32768) << SCORE_SHIFT) | ((long) depth << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT) | VALID;
+    }
+
+    /*
+     * Method name: move
+     * Parameters: long entry - The packed entry
+     * Return type: int - The best move of the entry
+     * Description: Decodes the move field.
+     */
+    public static int move(long entry) {
+        return (int) (entry & 0x1FFFFF) - 2;
+    }
+
+    /*
+     * Method name: score
+     * Parameters: long entry - The packed entry
+     * Return type: int - The score of the entry
+     * Description: Decodes the score field.
+     */
+    public static int score(long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & 0xFFFF) - 32768;
+    }
+
+    /*
+     * Method name: depth
+     * Parameters: long entry - The packed entry
+     * Return type: int - The depth of the entry
+     * Description: Decodes the depth field.
+     */
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    /*
+     * Method name: bound
+     * Parameters: long entry - The packed entry
+     * Return type: int - The bound type of the entry
+     * Description: Decodes the bound field.
+     */
+    public static int bound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3);
+    }
+
+    /*
+     * Method name: age
+     * Parameters: long entry - The packed entry
+     * Return type: int - The search the entry was stored in
+     * Description: Decodes the age field.
+     */
+    public static int age(long entry) {
+        return (int) ((entry >>> AGE_SHIFT) & 0xFF);
+    }
+}
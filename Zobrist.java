@@ -0,0 +1,156 @@
+/*
+ * Program name: Zobrist
+ * Programmer: Raymond Zhang
+ * Last modified: 17/10/2026
+ * Description: Class that contains the random keys used to hash positions. A
+ * position's key is the XOR of the keys of every occupied square, every used
+ * piece and the side to move, so it can be updated one move at a time. The
+ * keys come from a fixed seed so hashes stay the same between runs.
+ */
+
+public class Zobrist {
+    private static final long SEED = 0x426C6F6B75734475L;
+
+    // Keys of each square per player, indexed by bit index
+    private static final long[][] SQUARES = new long[2][BitBoard.CELLS];
+
+    // Keys of each used piece per player
+    private static final long[][] PIECES = new long[2][PieceTable.PIECES];
+
+    // Key for player 2 to move
+    public static final long SIDE;
+
+    // Combined key of each placement per player (squares and used piece)
+    private static final long[][] PLACEMENTS = new long[2][MoveGenerator.MAX_PLACEMENTS];
+
+    static {
+        // Declare variables
+        long state = SEED;
+        Orientation o;
+        long key;
+
+        // Fill keys with a fixed pseudo-random sequence
+        for (int p = 0; p < 2; p++) {
+            for (int i = 0; i < BitBoard.CELLS; i++) {
+                state += 0x9E3779B97F4A7C15L;
+                SQUARES[p][i] = mix(state);
+            }
+            for (int i = 0; i < PieceTable.PIECES; i++) {
+                state += 0x9E3779B97F4A7C15L;
+                PIECES[p][i] = mix(state);
+            }
+        }
+        state += 0x9E3779B97F4A7C15L;
+        SIDE = mix(state);
+
+        // Combine the keys of each placement on the board
+        for (int p = 0; p < 2; p++) {
+            for (int id = 0; id < PieceTable.size(); id++) {
+                o = PieceTable.get(id);
+                for (int r = 0; r + o.getRows() <= BlokusDuo.BOARD_SIZE; r++) {
+                    for (int c = 0; c + o.getCols() <= BlokusDuo.BOARD_SIZE; c++) {
+                        key = PIECES[p][o.getPieceId()];
+                        for (int k = 0; k < o.getSize(); k++) {
+                            key ^= SQUARES[p][BitBoard.bitIndex(r + o.getCellR()[k], c + o.getCellC()[k])];
+                        }
+                        PLACEMENTS[p][MoveGenerator.placementKey(id, r, c)] = key;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Method name: mix
+     * Parameters: long z - The value to scramble
+     * Return type: long - A well-distributed 64-bit value
+     * Description: The SplitMix64 finalizer.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Method name: square
+     * Parameters: int p - The player index
+     * int idx - The bit index of the square
+     * Return type: long - The key of the player covering the square
+     * Description: Looks up a square key.
+     */
+    public static long square(int p, int idx) {
+        return SQUARES[p][idx];
+    }
+
+    /*
+     * Method name: piece
+     * Parameters: int p - The player index
+     * int pieceId - The index of the piece
+     * Return type: long - The key of the player having used the piece
+     * Description: Looks up a piece key.
+     */
+    public static long piece(int p, int pieceId) {
+        return PIECES[p][pieceId];
+    }
+
+    /*
+     * Method name: move
+     * Parameters: int p - The player index
+     * int move - The packed move, or Move.PASS
+     * Return type: long - The key to XOR into the position hash to play the move
+     * Description: Looks up the combined key of a move, including the change of
+     * side to move.
+     */
+    public static long move(int p, int move) {
+        return move == Move.PASS ? SIDE : PLACEMENTS[p][Move.placement(move)] ^ SIDE;
+    }
+
+    /*
+     * Method name: hash
+     * Parameters: BitBoard bits - The game board
+     * int p1Pieces, int p2Pieces - Bit masks of each player's unused pieces
+     * int sideToMove - The index of the player to move
+     * Return type: long - The key of the position
+     * Description: Calculates a position key from scratch.
+     */
+    public static long hash(BitBoard bits, int p1Pieces, int p2Pieces, int sideToMove) {
+        return hash(bits, p1Pieces, p2Pieces, sideToMove, Symmetry.IDENTITY);
+    }
+
+    /*
+     * Method name: hash
+     * Parameters: BitBoard bits - The game board
+     * int p1Pieces, int p2Pieces - Bit masks of each player's unused pieces
+     * int sideToMove - The index of the player to move
+     * int t - The symmetry transform to apply to the board first
+     * Return type: long - The key of the transformed position
+     * Description: Calculates the key of a position's mirror image from scratch.
+     */
+    public static long hash(BitBoard bits, int p1Pieces, int p2Pieces, int sideToMove, int t) {
+        // Declare variables
+        long key = sideToMove == BitBoard.P2_INDEX ? SIDE : 0;
+        long word;
+        int[] pieces = { p1Pieces, p2Pieces };
+
+        for (int p = 0; p < 2; p++) {
+            // Occupied squares
+            for (int w = 0; w < BitBoard.WORDS; w++) {
+                word = bits.getOccupied(p)[w];
+                while (word != 0) {
+                    key ^= SQUARES[p][Symmetry.square(t, (w << 6) + Long.numberOfTrailingZeros(word))];
+                    word &= word - 1;
+                }
+            }
+
+            // Used pieces
+            for (int i = 0; i < PieceTable.PIECES; i++) {
+                if ((pieces[p] & (1 << i)) == 0) {
+                    key ^= PIECES[p][i];
+                }
+            }
+        }
+
+        return key;
+    }
+}